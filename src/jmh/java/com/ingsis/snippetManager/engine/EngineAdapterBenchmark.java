@@ -0,0 +1,82 @@
+package com.ingsis.snippetManager.engine;
+
+import com.ingsis.engine.InMemoryEngine;
+import com.ingsis.engine.versions.Version;
+import com.ingsis.snippetManager.engine.dto.response.RunSnippetResponseDTO;
+import com.ingsis.snippetManager.engine.supportedRules.FormatterSupportedRules;
+import com.ingsis.snippetManager.engine.supportedRules.LintSupportedRules;
+import com.ingsis.utils.result.Result;
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EngineAdapterBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    public int lines;
+
+    @Param({"0", "10"})
+    public int inputCount;
+
+    @Param({"compact", "spaced"})
+    public String ruleSet;
+
+    @Param({"1.1"})
+    public String version;
+
+    private byte[] snippet;
+    private List<String> inputs;
+    private Version parsedVersion;
+    private FormatterSupportedRules formatRules;
+    private LintSupportedRules lintRules;
+    private EngineAdapter adapter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        snippet = SnippetCorpus.generate(lines, inputCount);
+        inputs = SnippetCorpus.inputs(inputCount);
+        parsedVersion = Version.fromString(version);
+        adapter = new EngineAdapter(new InMemoryEngine());
+        if ("spaced".equals(ruleSet)) {
+            formatRules = new FormatterSupportedRules(true, true, 4, true, 2);
+            lintRules = new LintSupportedRules(true, true, "snake case");
+        } else {
+            formatRules = new FormatterSupportedRules(false, false, 2, false, 0);
+            lintRules = new LintSupportedRules(false, false, "camel case");
+        }
+    }
+
+    @Benchmark
+    public RunSnippetResponseDTO execute() {
+        return adapter.execute(new ByteArrayInputStream(snippet), parsedVersion, inputs, Map.of());
+    }
+
+    @Benchmark
+    public Result<String> analyze() {
+        return adapter.analyze(new ByteArrayInputStream(snippet), lintRules, parsedVersion);
+    }
+
+    @Benchmark
+    public Result<String> format() {
+        return adapter.format(new ByteArrayInputStream(snippet), formatRules, parsedVersion);
+    }
+}
@@ -0,0 +1,73 @@
+package com.ingsis.snippetManager.engine;
+
+import com.ingsis.engine.InMemoryEngine;
+import com.ingsis.engine.versions.Version;
+import com.ingsis.snippetManager.engine.dto.response.RunSnippetResponseDTO;
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Execute throughput at 1, 4 and 16 threads sharing one {@link EngineAdapter}, as the service does. Every engine call
+ * holds the JVM-wide {@link com.ingsis.snippetManager.engine.runner.RuntimeSession} lock, so the contended variants
+ * show what that lock costs under load rather than any parallel speed-up.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EngineAdapterThroughputBenchmark {
+
+    @Param({"1000"})
+    public int lines;
+
+    @Param({"1.1"})
+    public String version;
+
+    private EngineAdapter adapter;
+    private byte[] source;
+    private Version parsedVersion;
+    private List<String> inputs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        adapter = new EngineAdapter(new InMemoryEngine());
+        source = SnippetCorpus.generate(lines, 2);
+        inputs = SnippetCorpus.inputs(2);
+        parsedVersion = Version.fromString(version);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public RunSnippetResponseDTO execute1Thread() {
+        return adapter.execute(new ByteArrayInputStream(source), parsedVersion, inputs, Map.of());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public RunSnippetResponseDTO execute4Threads() {
+        return adapter.execute(new ByteArrayInputStream(source), parsedVersion, inputs, Map.of());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public RunSnippetResponseDTO execute16Threads() {
+        return adapter.execute(new ByteArrayInputStream(source), parsedVersion, inputs, Map.of());
+    }
+}
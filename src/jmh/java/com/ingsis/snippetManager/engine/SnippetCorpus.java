@@ -0,0 +1,32 @@
+package com.ingsis.snippetManager.engine;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+final class SnippetCorpus {
+
+    private SnippetCorpus() {
+    }
+
+    static byte[] generate(int lines, int inputReads) {
+        StringBuilder code = new StringBuilder();
+        for (int i = 0; i < inputReads; i++) {
+            code.append("let input").append(i).append(": string = readInput();\n");
+        }
+        int body = Math.max(lines - inputReads, 2);
+        for (int i = 0; i < body; i += 2) {
+            code.append("let value").append(i).append(": number = ").append(i).append(" * 2 + 1;\n");
+            code.append("println(\"value \" + value").append(i).append(");\n");
+        }
+        return code.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static List<String> inputs(int count) {
+        List<String> inputs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            inputs.add("input-" + i);
+        }
+        return inputs;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ingsis.snippetManager.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process stand-in for the bucket service. It implements the GET/PUT contract used by AssetService on
+ * {@code /snippets/{id}} and answers unknown ids with a default snippet.
+ */
+final class BucketStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final Map<String, byte[]> blobs = new ConcurrentHashMap<>();
+    private final byte[] defaultSnippet;
+
+    BucketStub(String defaultSnippet) throws IOException {
+        this.defaultSnippet = defaultSnippet.getBytes(StandardCharsets.UTF_8);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/snippets/", this::handle);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String key = exchange.getRequestURI().getPath().substring("/snippets/".length());
+        switch (exchange.getRequestMethod()) {
+            case "GET" -> respond(exchange, 200, blobs.getOrDefault(key, defaultSnippet));
+            case "PUT" -> {
+                blobs.put(key, exchange.getRequestBody().readAllBytes());
+                respond(exchange, 200, new byte[0]);
+            }
+            default -> respond(exchange, 405, new byte[0]);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,52 @@
+package com.ingsis.snippetManager.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class LatencyRecorder {
+
+    private final String stream;
+    private final Map<String, Long> sentAt = new ConcurrentHashMap<>();
+    private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+
+    LatencyRecorder(String stream) {
+        this.stream = stream;
+    }
+
+    void sent(String id) {
+        sentAt.put(id, System.nanoTime());
+    }
+
+    void received(String id) {
+        Long start = sentAt.remove(id);
+        if (start != null) {
+            latencies.add(System.nanoTime() - start);
+        }
+    }
+
+    int outstanding() {
+        return sentAt.size();
+    }
+
+    String report(double elapsedSeconds) {
+        List<Long> sorted;
+        synchronized (latencies) {
+            sorted = new ArrayList<>(latencies);
+        }
+        Collections.sort(sorted);
+        return String.format("%-7s completed=%d lost=%d throughput=%.1f rec/s p50=%.1f ms p99=%.1f ms", stream,
+                sorted.size(), outstanding(), sorted.size() / elapsedSeconds, percentile(sorted, 0.50),
+                percentile(sorted, 0.99));
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0)) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,179 @@
+package com.ingsis.snippetManager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ingsis.snippetManager.EngineServiceApplication;
+import com.ingsis.snippetManager.engine.supportedLanguage.SupportedLanguage;
+import com.ingsis.snippetManager.engine.supportedRules.FormatterSupportedRules;
+import com.ingsis.snippetManager.engine.supportedRules.LintSupportedRules;
+import com.ingsis.snippetManager.redis.dto.format.FormatRequestEvent;
+import com.ingsis.snippetManager.redis.dto.lint.LintRequestEvent;
+import com.ingsis.snippetManager.redis.dto.testing.TestRequestEvent;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+/**
+ * Self-contained load test: starts an embedded Redis, a stub bucket and the service, then floods the selected request
+ * streams at a fixed rate and reports latency percentiles and throughput per stream. Throughput is measured over the
+ * send window; results still arriving during the {@code load.drain} period that follows are counted too.
+ *
+ * <p>
+ * Configured through {@code load.rate} (records/s per stream), {@code load.duration}, {@code load.drain},
+ * {@code load.streams} and {@code load.version}.
+ */
+public final class LoadHarness {
+
+    private static final String SNIPPET = """
+            let name: string = "load";
+            let count: number = 3;
+            println("Hello " + name);
+            println(count * 2 + 1);
+            """;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rate = Integer.getInteger("load.rate", 50);
+        Duration duration = Duration.parse("PT" + System.getProperty("load.duration", "30s").toUpperCase());
+        Duration drain = Duration.parse("PT" + System.getProperty("load.drain", "5s").toUpperCase());
+        List<String> streams = List.of(System.getProperty("load.streams", "lint,format,test").split(","));
+        String version = System.getProperty("load.version", "1.1");
+
+        int redisPort = freePort();
+        RedisServer redis = new RedisServer(redisPort);
+        redis.start();
+
+        try (BucketStub bucket = new BucketStub(SNIPPET);
+                ConfigurableApplicationContext context = new SpringApplicationBuilder(EngineServiceApplication.class)
+                        .properties(serviceProperties(redisPort, bucket.url())).run()) {
+
+            StringRedisTemplate template = context.getBean(StringRedisTemplate.class);
+            Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+            streams.forEach(stream -> recorders.put(stream, new LatencyRecorder(stream)));
+
+            ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(streams.size());
+            ExecutorService collectors = Executors.newFixedThreadPool(streams.size());
+            AtomicBoolean collecting = new AtomicBoolean(true);
+            List<ScheduledFuture<?>> senders = new ArrayList<>();
+            long periodMicros = 1_000_000L / rate;
+            for (String stream : streams) {
+                collectors.execute(() -> collect(template, stream, recorders.get(stream), collecting));
+                senders.add(scheduler.scheduleAtFixedRate(() -> send(template, stream, version, recorders.get(stream)),
+                        0, periodMicros, TimeUnit.MICROSECONDS));
+            }
+
+            long start = System.nanoTime();
+            Thread.sleep(duration.toMillis());
+            senders.forEach(sender -> sender.cancel(false));
+            double elapsed = (System.nanoTime() - start) / 1_000_000_000.0;
+            scheduler.shutdown();
+
+            Thread.sleep(drain.toMillis());
+            collecting.set(false);
+            collectors.shutdown();
+            collectors.awaitTermination(5, TimeUnit.SECONDS);
+
+            System.out.printf("Load test: %d rec/s per stream for %s%n", rate, duration);
+            recorders.values().forEach(recorder -> System.out.println(recorder.report(elapsed)));
+        } finally {
+            redis.stop();
+        }
+    }
+
+    private static Map<String, Object> serviceProperties(int redisPort, String bucketUrl) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("AUTH0_ISSUER_URI", "http://127.0.0.1/");
+        properties.put("AUTH0_AUDIENCE", "load-test");
+        properties.put("API_PORT", "0");
+        properties.put("BUCKET_URL", bucketUrl);
+        properties.put("REDIS_PORT", String.valueOf(redisPort));
+        properties.put("REDIS_HOST", "127.0.0.1");
+        for (String stream : List.of("lint", "format", "test")) {
+            properties.put("REDIS_STREAM_REQUEST_" + stream.toUpperCase() + "_KEY", stream + "-request");
+            properties.put("REDIS_STREAM_RESULT_" + stream.toUpperCase() + "_KEY", stream + "-result");
+            properties.put("REDIS_GROUP_" + stream.toUpperCase() + "_KEY", stream + "-group");
+        }
+        return properties;
+    }
+
+    private static void send(StringRedisTemplate template, String stream, String version,
+            LatencyRecorder recorder) {
+        try {
+            UUID snippetId = UUID.randomUUID();
+            Object event = switch (stream) {
+                case "lint" -> new LintRequestEvent("load", snippetId, SupportedLanguage.PRINTSCRIPT,
+                        new LintSupportedRules(true, true, "camel case"), version);
+                case "format" -> new FormatRequestEvent("load", snippetId, UUID.randomUUID(),
+                        SupportedLanguage.PRINTSCRIPT, version, new FormatterSupportedRules(true, false, 4, true, 1));
+                case "test" -> new TestRequestEvent("load", UUID.randomUUID(), snippetId,
+                        SupportedLanguage.PRINTSCRIPT, version, List.of(), List.of("Hello load", "7"), Map.of());
+                default -> throw new IllegalArgumentException("Unknown stream " + stream);
+            };
+            recorder.sent(snippetId.toString());
+            template.opsForStream().add(StreamRecords.newRecord().ofObject(MAPPER.writeValueAsString(event))
+                    .withStreamKey(stream + "-request"));
+        } catch (Exception e) {
+            System.err.println("Failed to send " + stream + " record: " + e.getMessage());
+        }
+    }
+
+    private static void collect(StringRedisTemplate template, String stream, LatencyRecorder recorder,
+            AtomicBoolean collecting) {
+        StreamOffset<String> offset = StreamOffset.create(stream + "-result", ReadOffset.from("0-0"));
+        while (collecting.get()) {
+            List<MapRecord<String, Object, Object>> records = template.opsForStream()
+                    .read(StreamReadOptions.empty().block(Duration.ofMillis(500)).count(500), offset);
+            if (records == null || records.isEmpty()) {
+                continue;
+            }
+            for (MapRecord<String, Object, Object> record : records) {
+                record.getValue().values().forEach(value -> snippetId(value).ifPresent(recorder::received));
+            }
+            offset = StreamOffset.create(stream + "-result",
+                    ReadOffset.from(records.get(records.size() - 1).getId()));
+        }
+    }
+
+    private static Optional<String> snippetId(Object payload) {
+        try {
+            JsonNode node = MAPPER.readTree(payload.toString());
+            if ("PENDING".equals(node.path("status").asText())) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(node.get("snippetId")).map(JsonNode::asText);
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
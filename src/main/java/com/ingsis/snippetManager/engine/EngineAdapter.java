@@ -1,33 +1,29 @@
 package com.ingsis.snippetManager.engine;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ingsis.engine.Engine;
 import com.ingsis.engine.versions.Version;
 import com.ingsis.snippetManager.engine.dto.response.RunSnippetResponseDTO;
-import com.ingsis.snippetManager.engine.runner.CollectingEmitter;
-import com.ingsis.snippetManager.engine.runner.NativeExpressionNode;
+import com.ingsis.snippetManager.engine.runner.DiagnosticsCapture;
+import com.ingsis.snippetManager.engine.runner.ExecutionContext;
+import com.ingsis.snippetManager.engine.runner.ExecutionProfiler;
+import com.ingsis.snippetManager.engine.runner.RuntimeSession;
 import com.ingsis.snippetManager.engine.supportedRules.FormatterSupportedRules;
 import com.ingsis.snippetManager.engine.supportedRules.LintSupportedRules;
+import com.ingsis.snippetManager.engine.supportedRules.RuleDocuments;
 import com.ingsis.utils.result.CorrectResult;
 import com.ingsis.utils.result.IncorrectResult;
 import com.ingsis.utils.result.Result;
-import com.ingsis.utils.runtime.DefaultRuntime;
-import com.ingsis.utils.runtime.environment.Environment;
-import com.ingsis.utils.type.types.Types;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.PrintStream;
-import java.io.StringWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class EngineAdapter {
 
@@ -38,203 +34,88 @@ public class EngineAdapter {
         this.engine = engine;
     }
 
-    public RunSnippetResponseDTO execute(String code, Version version, List<String> inputs, Map<String, String> envs) {
-
-        CollectingEmitter emitter = new CollectingEmitter();
-        DefaultRuntime runtime = DefaultRuntime.getInstance();
-        runtime.setEmitter(emitter);
+    public RunSnippetResponseDTO execute(InputStream src, Version version, List<String> inputs,
+            Map<String, String> envs) {
+        return execute(src, version, new ExecutionContext(inputs, envs));
+    }
 
-        try {
-            runtime.push();
-            Environment env = runtime.getCurrentEnvironment();
+    public RunSnippetResponseDTO execute(InputStream src, Version version, ExecutionContext context) {
+        try (RuntimeSession session = RuntimeSession.open(context.emitter())) {
+            context.start();
+            context.install(session.environment());
 
-            for (var e : envs.entrySet()) {
-                env.createVariable(e.getKey(), Types.STRING, e.getValue(), false);
+            Result<String> result = interpret(src, version, context.profiler());
+            if (context.exceededLimit() != null) {
+                return limitExceeded(context);
             }
-
-            AtomicInteger index = new AtomicInteger(0);
-
-            /* readInput() */
-            env.createFunction("readInput", new LinkedHashMap<>(), Types.STRING);
-            env.updateFunction("readInput", List.of(
-                    new NativeExpressionNode(() ->
-                            index.get() < inputs.size()
-                                    ? inputs.get(index.getAndIncrement())
-                                    : ""
-                    )
-            ));
-            env.createFunction("readNumber", new LinkedHashMap<>(), Types.NUMBER);
-            env.updateFunction("readNumber", List.of(
-                    new NativeExpressionNode(() -> {
-                        if (index.get() >= inputs.size()) {
-                            return 0.0;
-                        }
-                        try {
-                            return Double.parseDouble(inputs.get(index.getAndIncrement()));
-                        } catch (NumberFormatException e) {
-                            return 0.0;
-                        }
-                    })
-            ));
-
-            /* readEnv(key) */
-            LinkedHashMap<String, Types> args = new LinkedHashMap<>();
-            args.put("key", Types.STRING);
-
-            env.createFunction("readEnv", args, Types.STRING);
-            env.updateFunction("readEnv", List.of(
-                    new NativeExpressionNode(() -> {
-                        var keyResult = env.readVariable("key");
-
-                        if (!keyResult.isCorrect() || keyResult.result().value() == null) {
-                            return "";
-                        }
-
-                        String key = keyResult.result().value().toString();
-                        var valueResult = env.readVariable(key);
-
-                        if (!valueResult.isCorrect() || valueResult.result().value() == null) {
-                            return "";
-                        }
-
-                        return valueResult.result().value().toString();
-                    })
-            ));
-            InputStream codeStream = new ByteArrayInputStream(code.getBytes(StandardCharsets.UTF_8));
-            Result<String> result = engine.interpret(codeStream, version);
             if (!result.isCorrect()) {
-                return new RunSnippetResponseDTO(
-                        emitter.outputs(),
-                        List.of(result.error())
-                );
+                return respond(context, List.of(result.error()));
             }
-            return new RunSnippetResponseDTO(emitter.outputs(), List.of());
+            return respond(context, List.of());
 
         } catch (Exception e) {
-            return new RunSnippetResponseDTO(emitter.outputs(), List.of(e.getMessage()));
-        } finally {
-            runtime.pop();
-        }
-    }
-
-    public Result<String> analyze(InputStream src, LintSupportedRules config, Version version) {
-        resetRuntime();
-        ByteArrayOutputStream errStream = new ByteArrayOutputStream();
-        PrintStream originalErr = System.err;
-        System.setErr(new PrintStream(errStream));
-        DefaultRuntime runtime = DefaultRuntime.getInstance();
-        InputStream rules = lintRulesToInputStream(config);
-        try {
-            Result<String> r = engine.analyze(src, rules, version);
-            if (!r.isCorrect()) {
-                return new IncorrectResult<>(r.error() + "\n" + errStream.toString());
+            if (context.exceededLimit() != null) {
+                return limitExceeded(context);
             }
-            return new CorrectResult<>("No lint errors");
-        } finally {
-            runtime.pop();
-            System.setErr(originalErr);
+            return respond(context, List.of(e.getMessage()));
         }
     }
 
-    public Result<String> format(InputStream src, FormatterSupportedRules formatRules, Version version) {
-        resetRuntime();
-        StringWriter writer = new StringWriter();
-        DefaultRuntime runtime = DefaultRuntime.getInstance();
-        InputStream rules = rulesToInputStream(formatRules);
+    private Result<String> interpret(InputStream src, Version version, ExecutionProfiler profiler) {
+        if (profiler == null) {
+            return engine.interpret(src, version);
+        }
+        profiler.start();
         try {
-            Result<String> r = engine.format(src, rules, writer, version);
-            if (!r.isCorrect()) {
-                return r;
-            }
-            return new CorrectResult<>(writer.toString());
+            return engine.interpret(src, version);
         } finally {
-            runtime.pop();
+            profiler.stop();
         }
     }
 
-    private void resetRuntime() {
-        DefaultRuntime runtime = DefaultRuntime.getInstance();
-        while (runtime.pop().isCorrect()) {}
-        runtime.setEmitter(null);
-        runtime.setExecutionError(null);
-        runtime.push();
+    private RunSnippetResponseDTO respond(ExecutionContext context, List<String> errors) {
+        return new RunSnippetResponseDTO(context.outputs(), errors, null, context.profile());
     }
-    private InputStream rulesToInputStream(FormatterSupportedRules rules) {
-        try {
-            Map<String, Object> formatterRules = new HashMap<>();
-            formatterRules.put(
-                    "enforce-spacing-before-colon-in-declaration",
-                    rules.hasPreAscriptionSpace()
-            );
-            formatterRules.put(
-                    "enforce-spacing-after-colon-in-declaration",
-                    rules.hasPostAscriptionSpace()
-            );
-            formatterRules.put(
-                    "enforce-spacing-around-equals",
-                    rules.isAssignationSpaced()
-            );
-            formatterRules.put(
-                    "enforce-no-spacing-around-equals",
-                    !rules.isAssignationSpaced()
-            );
-            formatterRules.put(
-                    "indent-inside-if",
-                    rules.indentationInsideConditionals()
-            );
-            formatterRules.put(
-                    "line-breaks-after-println",
-                    rules.printlnSeparationLines()
-            );
-            formatterRules.put(
-                    "mandatory-single-space-separation",
-                    true
-            );
-
-            ObjectMapper mapper = new ObjectMapper();
 
-            logger.info("ENGINE RULES JSON => {}", mapper.writeValueAsString(formatterRules));
-
-            return new ByteArrayInputStream(
-                    mapper.writeValueAsBytes(formatterRules)
-            );
+    private RunSnippetResponseDTO limitExceeded(ExecutionContext context) {
+        return new RunSnippetResponseDTO(context.outputs(),
+                List.of("Execution limit exceeded: " + context.exceededLimit()), context.exceededLimit(),
+                context.profile());
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to convert formatter rules", e);
+    public Result<String> analyze(InputStream src, LintSupportedRules config, Version version) {
+        InputStream rules = RuleDocuments.lint(config);
+        try (RuntimeSession session = RuntimeSession.open(null);
+                DiagnosticsCapture diagnostics = DiagnosticsCapture.start()) {
+            Result<String> r = engine.analyze(src, rules, version);
+            if (!r.isCorrect()) {
+                return new IncorrectResult<>(r.error() + "\n" + diagnostics.contents());
+            }
+            return new CorrectResult<>("No lint errors");
         }
     }
 
-    private InputStream lintRulesToInputStream(LintSupportedRules rules) {
-        try {
-            Map<String, Object> lintRules = new HashMap<>();
-
-            lintRules.put(
-                    "mandatory-variable-or-literal-in-println",
-                    rules.mandatoryVariableOrLiteralInPrintln()
-            );
-
-            lintRules.put(
-                    "mandatory-variable-or-literal-in-readInput",
-                    rules.mandatoryVariableOrLiteralInReadInput()
-            );
+    public Result<String> format(InputStream src, FormatterSupportedRules formatRules, Version version) {
+        Result<byte[]> r = formatBytes(src, formatRules, version);
+        if (!r.isCorrect()) {
+            return new IncorrectResult<>(r.error());
+        }
+        return new CorrectResult<>(new String(r.result(), StandardCharsets.UTF_8));
+    }
 
-            if (rules.identifierFormat() != null) {
-                lintRules.put(
-                        "identifier_format",
-                        rules.identifierFormat()
-                );
+    public Result<byte[]> formatBytes(InputStream src, FormatterSupportedRules formatRules, Version version) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InputStream rules = RuleDocuments.format(formatRules);
+        try (RuntimeSession session = RuntimeSession.open(null);
+                Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            Result<String> r = engine.format(src, rules, writer, version);
+            if (!r.isCorrect()) {
+                return new IncorrectResult<>(r.error());
             }
-
-            ObjectMapper mapper = new ObjectMapper();
-
-            logger.info("ENGINE LINT RULES JSON => {}", mapper.writeValueAsString(lintRules));
-
-            return new ByteArrayInputStream(
-                    mapper.writeValueAsBytes(lintRules)
-            );
-
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to convert lint rules", e);
+            writer.flush();
+            return new CorrectResult<>(out.toByteArray());
+        } catch (IOException e) {
+            return new IncorrectResult<>(e.getMessage());
         }
     }
 }
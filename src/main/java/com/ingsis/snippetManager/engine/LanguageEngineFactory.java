@@ -3,12 +3,25 @@ package com.ingsis.snippetManager.engine;
 import com.ingsis.engine.Engine;
 import com.ingsis.engine.InMemoryEngine;
 import com.ingsis.snippetManager.engine.supportedLanguage.SupportedLanguage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.stereotype.Component;
 
+/**
+ * Hands out one engine instance per language. Every engine call runs inside a
+ * {@link com.ingsis.snippetManager.engine.runner.RuntimeSession}, which is exclusive across the JVM, so a single
+ * instance per language is never used by two threads at once and more instances would only sit idle.
+ */
 @Component
 public class LanguageEngineFactory {
 
+    private final Map<SupportedLanguage, Engine> engines = new ConcurrentHashMap<>();
+
     public Engine getEngine(SupportedLanguage language) {
+        return engines.computeIfAbsent(language, LanguageEngineFactory::newEngine);
+    }
+
+    private static Engine newEngine(SupportedLanguage language) {
         return switch (language.name().toLowerCase()) {
             case "printscript" -> new InMemoryEngine();
             default -> throw new IllegalArgumentException("Language not supported: " + language);
@@ -1,19 +1,30 @@
 package com.ingsis.snippetManager.engine;
 
 import com.ingsis.engine.versions.Version;
+import com.ingsis.snippetManager.engine.batch.BulkSnippetService;
+import com.ingsis.snippetManager.engine.dto.request.BulkFormatRequestDTO;
+import com.ingsis.snippetManager.engine.dto.request.BulkLintRequestDTO;
 import com.ingsis.snippetManager.engine.dto.request.FormatRequestDTO;
 import com.ingsis.snippetManager.engine.dto.request.LintRequestDTO;
 import com.ingsis.snippetManager.engine.dto.request.RunSnippetRequestDTO;
 import com.ingsis.snippetManager.engine.dto.request.SimpleRunSnippet;
 import com.ingsis.snippetManager.engine.dto.request.TestRequestDTO;
+import com.ingsis.snippetManager.engine.dto.request.TestSuiteRequestDTO;
+import com.ingsis.snippetManager.engine.dto.response.BulkFormatResultDTO;
+import com.ingsis.snippetManager.engine.dto.response.BulkLintResultDTO;
 import com.ingsis.snippetManager.engine.dto.response.RunSnippetResponseDTO;
 import com.ingsis.snippetManager.engine.dto.response.TestResponseDTO;
+import com.ingsis.snippetManager.engine.dto.response.TestSuiteResponseDTO;
 import com.ingsis.snippetManager.engine.dto.response.ValidationResult;
+import com.ingsis.snippetManager.engine.lint.LintReport;
 import com.ingsis.utils.result.IncorrectResult;
 import com.ingsis.utils.result.Result;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -21,21 +32,40 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/run")
 public class RunController {
 
     private final SnippetRunnerService service;
+    private final BulkSnippetService bulkService;
+    private final int maxHttpBatch;
 
-    public RunController(SnippetRunnerService service) {
+    public RunController(SnippetRunnerService service, BulkSnippetService bulkService,
+            @Value("${engine.bulk.max-http-batch:100}") int maxHttpBatch) {
         this.service = service;
+        this.bulkService = bulkService;
+        this.maxHttpBatch = maxHttpBatch;
     }
 
+    /**
+     * Runs a snippet. With {@code profile} set the response carries engine-call totals only (time, allocation, print
+     * and native call counts, see {@link com.ingsis.snippetManager.engine.runner.ExecutionProfile}); there is no lex,
+     * parse or check breakdown.
+     */
     @PostMapping("/execute")
     public RunSnippetResponseDTO execute(@AuthenticationPrincipal Jwt jwt, @RequestBody RunSnippetRequestDTO dto) {
         return service.execute(dto.language(), dto.snippetId(), Version.fromString(dto.version()), dto.inputs(),
-                dto.envs());
+                dto.envs(), dto.profile());
+    }
+
+    @PostMapping(value = "/execute/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> executeStream(@AuthenticationPrincipal Jwt jwt,
+            @RequestBody RunSnippetRequestDTO dto) {
+        StreamingResponseBody body = out -> service.executeStreaming(dto.language(), dto.snippetId(),
+                Version.fromString(dto.version()), dto.inputs(), dto.envs(), out);
+        return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(body);
     }
 
     @PostMapping("/format")
@@ -46,9 +76,37 @@ public class RunController {
 
     @PostMapping("/analyze")
     public ValidationResult analyze(@AuthenticationPrincipal Jwt jwt, @RequestBody LintRequestDTO dto) {
-        Result<String> message = service.analyze(dto.snippetId(), Version.fromString(dto.version()), dto.rules(),
+        LintReport report = service.lint(dto.snippetId(), Version.fromString(dto.version()), dto.rules(),
                 dto.language());
-        return new ValidationResult(message.result(), message.isCorrect());
+        return new ValidationResult(report.message(), report.passed(), report.diagnostics(), report.truncated());
+    }
+
+    /**
+     * Lints the batch on the request thread, so at most {@code engine.bulk.max-http-batch} snippets are accepted;
+     * larger batches belong on the bulk lint stream.
+     */
+    @PostMapping("/analyze-batch")
+    public ResponseEntity<List<BulkLintResultDTO>> analyzeBatch(@AuthenticationPrincipal Jwt jwt,
+            @RequestBody BulkLintRequestDTO dto) {
+        if (dto.snippetIds().size() > maxHttpBatch) {
+            return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE).build();
+        }
+        return ResponseEntity.ok(
+                bulkService.lint(dto.snippetIds(), Version.fromString(dto.version()), dto.rules(), dto.language()));
+    }
+
+    /**
+     * Formats the batch on the request thread, so at most {@code engine.bulk.max-http-batch} snippets are accepted;
+     * larger batches belong on the bulk format stream.
+     */
+    @PostMapping("/format-batch")
+    public ResponseEntity<List<BulkFormatResultDTO>> formatBatch(@AuthenticationPrincipal Jwt jwt,
+            @RequestBody BulkFormatRequestDTO dto) {
+        if (dto.snippets().size() > maxHttpBatch) {
+            return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE).build();
+        }
+        return ResponseEntity.ok(bulkService.format(dto.snippets(), Version.fromString(dto.version()),
+                dto.formatterSupportedRules(), dto.language()));
     }
     @PostMapping("/validate")
     public ValidationResult validate(@AuthenticationPrincipal Jwt jwt, @RequestBody SimpleRunSnippet dto) {
@@ -64,4 +122,16 @@ public class RunController {
         TestResponseDTO response = service.test(dto);
         return ResponseEntity.ok(response);
     }
+    /**
+     * Runs the cases one after another on the request thread, so at most {@code engine.bulk.max-http-batch} cases are
+     * accepted; larger suites belong on the test suite stream.
+     */
+    @PostMapping("/test-suite")
+    public ResponseEntity<TestSuiteResponseDTO> testSuite(@AuthenticationPrincipal Jwt jwt,
+            @RequestBody TestSuiteRequestDTO dto) {
+        if (dto.cases() != null && dto.cases().size() > maxHttpBatch) {
+            return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE).build();
+        }
+        return ResponseEntity.ok(service.testSuite(dto));
+    }
 }
\ No newline at end of file
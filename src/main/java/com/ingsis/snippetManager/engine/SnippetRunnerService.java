@@ -1,27 +1,47 @@
 package com.ingsis.snippetManager.engine;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.ingsis.engine.Engine;
 import com.ingsis.engine.versions.Version;
+import com.ingsis.snippetManager.engine.cache.EngineResultMemo;
+import com.ingsis.snippetManager.engine.cache.SnippetProgram;
+import com.ingsis.snippetManager.engine.dto.request.TestCaseDTO;
 import com.ingsis.snippetManager.engine.dto.request.TestRequestDTO;
+import com.ingsis.snippetManager.engine.dto.request.TestSuiteRequestDTO;
 import com.ingsis.snippetManager.engine.dto.response.RunSnippetResponseDTO;
+import com.ingsis.snippetManager.engine.dto.response.TestCaseResultDTO;
 import com.ingsis.snippetManager.engine.dto.response.TestResponseDTO;
+import com.ingsis.snippetManager.engine.dto.response.TestSuiteResponseDTO;
+import com.ingsis.snippetManager.engine.incremental.IncrementalFormatter;
+import com.ingsis.snippetManager.engine.lint.LintDiagnosticParser;
+import com.ingsis.snippetManager.engine.lint.LintReport;
+import com.ingsis.snippetManager.engine.runner.CollectingEmitter;
+import com.ingsis.snippetManager.engine.runner.ExecutionBudget;
+import com.ingsis.snippetManager.engine.runner.ExecutionContext;
+import com.ingsis.snippetManager.engine.runner.StreamingEmitter;
 import com.ingsis.snippetManager.engine.supportedLanguage.SupportedLanguage;
 import com.ingsis.snippetManager.engine.supportedRules.FormatterSupportedRules;
 import com.ingsis.snippetManager.engine.supportedRules.LintSupportedRules;
 import com.ingsis.snippetManager.intermediate.azureStorageConfig.AssetService;
+import com.ingsis.snippetManager.intermediate.azureStorageConfig.SnippetBody;
+import com.ingsis.snippetManager.metrics.StageMetrics;
 import com.ingsis.snippetManager.redis.dto.testing.SnippetTestStatus;
 import com.ingsis.utils.result.CorrectResult;
 import com.ingsis.utils.result.IncorrectResult;
 import com.ingsis.utils.result.Result;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
@@ -30,46 +50,122 @@ public class SnippetRunnerService {
 
     private final AssetService assetService;
     private final LanguageEngineFactory languageEngineFactory;
+    private final ExecutionBudget budget;
+    private final EngineResultMemo resultMemo;
+    private final StageMetrics stageMetrics;
+    private final IncrementalFormatter incrementalFormatter;
+    private final int maxLintDiagnostics;
+    private final int streamBufferFrames;
+    private final Duration streamStallTimeout;
     private static final Logger logger = LoggerFactory.getLogger(SnippetRunnerService.class);
 
-    public SnippetRunnerService(AssetService assetService, LanguageEngineFactory languageEngineFactory) {
+    public SnippetRunnerService(AssetService assetService, LanguageEngineFactory languageEngineFactory,
+            ExecutionBudget budget, EngineResultMemo resultMemo,
+            StageMetrics stageMetrics, IncrementalFormatter incrementalFormatter,
+            @Value("${engine.lint.max-diagnostics:200}") int maxLintDiagnostics,
+            @Value("${engine.stream.buffer-frames:256}") int streamBufferFrames,
+            @Value("${engine.stream.stall-timeout:2s}") Duration streamStallTimeout) {
         this.assetService = assetService;
         this.languageEngineFactory = languageEngineFactory;
+        this.budget = budget;
+        this.resultMemo = resultMemo;
+        this.stageMetrics = stageMetrics;
+        this.incrementalFormatter = incrementalFormatter;
+        this.maxLintDiagnostics = maxLintDiagnostics;
+        this.streamBufferFrames = streamBufferFrames;
+        this.streamStallTimeout = streamStallTimeout;
     }
 
     public RunSnippetResponseDTO execute(SupportedLanguage language, UUID snippetId, Version version,
             List<String> inputs, Map<String, String> envs) {
-        String code = assetService.getSnippet(snippetId).getBody();
-        if (code == null) {
+        return execute(language, snippetId, version, inputs, envs, false);
+    }
+
+    public RunSnippetResponseDTO execute(SupportedLanguage language, UUID snippetId, Version version,
+            List<String> inputs, Map<String, String> envs, boolean profile) {
+        ResponseEntity<SnippetBody> response = assetService.fetchSnippet(snippetId);
+        if (!found(response)) {
             return new RunSnippetResponseDTO(List.of(), List.of("Snippet not found"));
         }
-        EngineAdapter adapter = createAdapter(language);
-        return adapter.execute(code, version, inputs, envs);
+        try (InputStream source = openSource(response.getBody())) {
+            return runEngine("interpret", language,
+                    adapter -> adapter.execute(source, version, newContext(inputs, envs, profile)));
+        } catch (IOException e) {
+            return new RunSnippetResponseDTO(List.of(), List.of("Failed to read snippet: " + e.getMessage()));
+        }
+    }
+
+    public void executeStreaming(SupportedLanguage language, UUID snippetId, Version version, List<String> inputs,
+            Map<String, String> envs, OutputStream out) {
+        StreamingEmitter emitter = new StreamingEmitter(out, streamBufferFrames, streamStallTimeout);
+        ResponseEntity<SnippetBody> response = assetService.fetchSnippet(snippetId);
+        if (!found(response)) {
+            emitter.error("Snippet not found");
+            emitter.end();
+            return;
+        }
+        try (InputStream source = openSource(response.getBody())) {
+            RunSnippetResponseDTO result = runEngine("interpret", language,
+                    adapter -> adapter.execute(source, version, new ExecutionContext(emitter, inputs, envs, budget)));
+            result.errors().forEach(emitter::error);
+        } catch (IOException e) {
+            emitter.error("Failed to read snippet: " + e.getMessage());
+        }
+        emitter.end();
     }
 
     public Result<UUID> format(UUID snippetId,UUID formatId, Version version, FormatterSupportedRules rules,
             SupportedLanguage language) {
-        InputStream src = loadSnippet(snippetId);
-        if (src == null) {
+        return format(snippetId, formatId, loadProgram(snippetId), version, rules, language);
+    }
+
+    public Result<UUID> format(UUID snippetId, UUID formatId, SnippetProgram program, Version version,
+            FormatterSupportedRules rules, SupportedLanguage language) {
+        if (program == null) {
             return new IncorrectResult<>("Snippet not found");
         }
-        EngineAdapter adapter = createAdapter(language);
-        Result<String> formattedResult = adapter.format(src, rules, version);
+        AtomicReference<byte[]> formattedBytes = new AtomicReference<>();
+        Result<String> formattedResult = resultMemo.computeIfAbsent("format", program, rules, version, language, () -> {
+            Result<byte[]> formatted = incrementalFormatter.format(snippetId, program, rules, version, language,
+                    source -> runEngine("format", language, adapter -> adapter.formatBytes(source, rules, version)));
+            if (!formatted.isCorrect()) {
+                return new IncorrectResult<>(formatted.error());
+            }
+            formattedBytes.set(formatted.result());
+            return new CorrectResult<>(new String(formatted.result(), StandardCharsets.UTF_8));
+        });
         if (!formattedResult.isCorrect()) {
             return new IncorrectResult<>("Failed to format");
         }
-        return saveSnippet(snippetId,formatId,formattedResult.result());
+        byte[] content = formattedBytes.get() != null ? formattedBytes.get()
+                : formattedResult.result().getBytes(StandardCharsets.UTF_8);
+        return saveSnippet(snippetId,formatId,content);
     }
 
     public Result<String> analyze(UUID snippetId, Version version, LintSupportedRules rules,
             SupportedLanguage language) {
-        InputStream src = loadSnippet(snippetId);
-        if (src == null) {
+        return analyze(loadProgram(snippetId), version, rules, language);
+    }
+
+    public Result<String> analyze(SnippetProgram program, Version version, LintSupportedRules rules,
+            SupportedLanguage language) {
+        if (program == null) {
             return new IncorrectResult<>("Snippet not found");
         }
 
-        EngineAdapter adapter = createAdapter(language);
-        return adapter.analyze(src, rules, version);
+        return resultMemo.computeIfAbsent("lint", program, rules, version, language,
+                () -> runEngine("lint", language, adapter -> adapter.analyze(program.openStream(), rules, version)));
+    }
+
+    public LintReport lint(UUID snippetId, Version version, LintSupportedRules rules, SupportedLanguage language) {
+        return lint(loadProgram(snippetId), version, rules, language);
+    }
+
+    public LintReport lint(SnippetProgram program, Version version, LintSupportedRules rules,
+            SupportedLanguage language) {
+        Result<String> result = analyze(program, version, rules, language);
+        return LintDiagnosticParser.parse(result.isCorrect(), result.isCorrect() ? result.result() : result.error(),
+                maxLintDiagnostics);
     }
 
     public Result<List<String>> validate(UUID snippetId, SupportedLanguage language, Version version) {
@@ -84,31 +180,17 @@ public class SnippetRunnerService {
 
     public TestResponseDTO test(TestRequestDTO dto) {
         try {
-            String code = assetService.getSnippet(dto.snippetId()).getBody();
-            if (code == null) {
+            ResponseEntity<SnippetBody> response = assetService.fetchSnippet(dto.snippetId());
+            if (!found(response)) {
                 return new TestResponseDTO(List.of(), List.of("Snippet not found"), SnippetTestStatus.FAILED);
             }
 
-            EngineAdapter adapter = createAdapter(dto.language());
             Version parsedVersion = Version.fromString(dto.version());
-
-            RunSnippetResponseDTO execution = adapter.execute(code, parsedVersion, dto.inputs(), dto.envs());
-            List<String> actual = normalize(execution.outputs());
-            List<String> expected = normalize(dto.outputs());
-            logger.info("{}", execution.errors());
-            if (!execution.errors().isEmpty()) {
-                return new TestResponseDTO(execution.outputs(), execution.errors(), SnippetTestStatus.FAILED);
-            }
-            logger.info("{} {}", actual, expected);
-            if (!actual.equals(expected)) {
-                return new TestResponseDTO(
-                        execution.outputs(),
-                        List.of("Output mismatch"),
-                        SnippetTestStatus.FAILED
-                );
+            try (InputStream source = openSource(response.getBody())) {
+                RunSnippetResponseDTO execution = runEngine("interpret", dto.language(), adapter -> adapter
+                        .execute(source, parsedVersion, newContext(dto.inputs(), dto.envs(), dto.profile())));
+                return evaluate(execution, dto.outputs());
             }
-            logger.info("{} {} {}", dto.inputs(), dto.outputs(), execution.outputs());
-            return new TestResponseDTO(execution.outputs(), List.of(), SnippetTestStatus.PASSED);
 
         } catch (Exception ex) {
             return new TestResponseDTO(List.of(), List.of("Internal test error: " + ex.getMessage()),
@@ -116,20 +198,101 @@ public class SnippetRunnerService {
         }
     }
 
-    private EngineAdapter createAdapter(SupportedLanguage language) {
-        Engine engine = languageEngineFactory.getEngine(language);
-        return new EngineAdapter(engine);
+    public TestSuiteResponseDTO testSuite(TestSuiteRequestDTO dto) {
+        try {
+            ResponseEntity<SnippetBody> response = assetService.fetchSnippet(dto.snippetId());
+            if (!found(response)) {
+                return failSuite(dto, "Snippet not found");
+            }
+
+            Version version = Version.fromString(dto.version());
+            byte[] source = response.getBody().readAllBytes();
+
+            // Cases run one after another: engine calls are exclusive across the JVM, see RuntimeSession.
+            List<TestCaseResultDTO> results = dto.cases().stream()
+                    .map(testCase -> runCase(source, version, dto.language(), testCase)).toList();
+
+            boolean passed = results.stream().allMatch(r -> r.status() == SnippetTestStatus.PASSED);
+            return new TestSuiteResponseDTO(dto.snippetId(), results,
+                    passed ? SnippetTestStatus.PASSED : SnippetTestStatus.FAILED);
+
+        } catch (Exception ex) {
+            return failSuite(dto, "Internal test error: " + ex.getMessage());
+        }
+    }
+
+    private static TestSuiteResponseDTO failSuite(TestSuiteRequestDTO dto, String error) {
+        List<TestCaseResultDTO> failed = dto.cases().stream()
+                .map(c -> new TestCaseResultDTO(c.testId(), List.of(), List.of(error), SnippetTestStatus.FAILED))
+                .toList();
+        return new TestSuiteResponseDTO(dto.snippetId(), failed, SnippetTestStatus.FAILED);
+    }
+
+    private TestCaseResultDTO runCase(byte[] source, Version version, SupportedLanguage language,
+            TestCaseDTO testCase) {
+        try {
+            RunSnippetResponseDTO execution = runEngine("interpret", language, adapter -> adapter
+                    .execute(new ByteArrayInputStream(source), version, newContext(testCase.inputs(), testCase.envs(), false)));
+            TestResponseDTO result = evaluate(execution, testCase.outputs());
+            return new TestCaseResultDTO(testCase.testId(), result.outputs(), result.errors(), result.status());
+        } catch (Exception ex) {
+            return new TestCaseResultDTO(testCase.testId(), List.of(),
+                    List.of("Internal test error: " + ex.getMessage()), SnippetTestStatus.FAILED);
+        }
     }
 
-    private InputStream loadSnippet(UUID id) {
-        ResponseEntity<String> response = assetService.getSnippet(id);
-        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+    private TestResponseDTO evaluate(RunSnippetResponseDTO execution, List<String> outputs) {
+        List<String> actual = normalize(execution.outputs());
+        List<String> expected = normalize(outputs);
+        logger.info("{}", execution.errors());
+        if (!execution.errors().isEmpty()) {
+            return new TestResponseDTO(execution.outputs(), execution.errors(), SnippetTestStatus.FAILED,
+                    execution.profile());
+        }
+        logger.info("{} {}", actual, expected);
+        if (!actual.equals(expected)) {
+            return new TestResponseDTO(
+                    execution.outputs(),
+                    List.of("Output mismatch"),
+                    SnippetTestStatus.FAILED,
+                    execution.profile()
+            );
+        }
+        return new TestResponseDTO(execution.outputs(), List.of(), SnippetTestStatus.PASSED, execution.profile());
+    }
+
+    private ExecutionContext newContext(List<String> inputs, Map<String, String> envs, boolean profile) {
+        return new ExecutionContext(new CollectingEmitter(), inputs, envs, budget, profile);
+    }
+
+    private <T> T runEngine(String stage, SupportedLanguage language, Function<EngineAdapter, T> work) {
+        return stageMetrics.time("engine." + stage, language,
+                () -> work.apply(new EngineAdapter(languageEngineFactory.getEngine(language))));
+    }
+
+    private SnippetProgram loadProgram(UUID id) {
+        ResponseEntity<SnippetBody> response = assetService.fetchSnippet(id);
+        if (!found(response)) {
             return null;
         }
-        return new ByteArrayInputStream(response.getBody().getBytes(StandardCharsets.UTF_8));
+        return SnippetProgram.of(response.getBody().readAllBytes());
+    }
+
+    private static boolean found(ResponseEntity<SnippetBody> response) {
+        return response.getStatusCode().is2xxSuccessful() && response.getBody() != null;
+    }
+
+    /**
+     * Streamed snippets are handed to the engine as the open response body, so they are read exactly once.
+     */
+    private InputStream openSource(SnippetBody body) {
+        return switch (body) {
+            case SnippetBody.Buffered buffered -> new ByteArrayInputStream(buffered.bytes());
+            case SnippetBody.Streamed streamed -> streamed.stream();
+        };
     }
 
-    private Result<UUID> saveSnippet(UUID snippetId,UUID formatId,String newContent) {
+    private Result<UUID> saveSnippet(UUID snippetId,UUID formatId,byte[] newContent) {
         try {
             assetService.saveOriginalSnippet(snippetId,formatId);
             return new CorrectResult<>(assetService.saveSnippet(snippetId,newContent).getBody());
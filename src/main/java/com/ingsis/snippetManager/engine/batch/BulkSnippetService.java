@@ -0,0 +1,176 @@
+package com.ingsis.snippetManager.engine.batch;
+
+import com.ingsis.engine.versions.Version;
+import com.ingsis.snippetManager.engine.SnippetRunnerService;
+import com.ingsis.snippetManager.engine.cache.SnippetProgram;
+import com.ingsis.snippetManager.engine.dto.request.FormatTargetDTO;
+import com.ingsis.snippetManager.engine.dto.response.BulkFormatResultDTO;
+import com.ingsis.snippetManager.engine.dto.response.BulkLintResultDTO;
+import com.ingsis.snippetManager.engine.dto.response.ValidationResult;
+import com.ingsis.snippetManager.engine.lint.LintReport;
+import com.ingsis.snippetManager.engine.supportedLanguage.SupportedLanguage;
+import com.ingsis.snippetManager.engine.supportedRules.FormatterSupportedRules;
+import com.ingsis.snippetManager.engine.supportedRules.LintSupportedRules;
+import com.ingsis.snippetManager.engine.supportedRules.RuleDocuments;
+import com.ingsis.snippetManager.intermediate.azureStorageConfig.AssetService;
+import com.ingsis.snippetManager.intermediate.azureStorageConfig.SnippetBody;
+import com.ingsis.utils.result.Result;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+/**
+ * Lints or formats many snippets against a single rule set. The rule set is compiled once up front and up to
+ * {@code engine.bulk.fetch-parallelism} snippets are fetched from the bucket concurrently. The engine work itself runs
+ * on the calling thread, one snippet at a time as its fetch completes, because engine calls are exclusive across the
+ * JVM anyway (see {@link com.ingsis.snippetManager.engine.runner.RuntimeSession}). Every result is handed to the
+ * caller as soon as it is ready.
+ */
+@Service
+public class BulkSnippetService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkSnippetService.class);
+
+    private final AssetService assetService;
+    private final SnippetRunnerService runnerService;
+    private final int fetchParallelism;
+
+    public BulkSnippetService(AssetService assetService, SnippetRunnerService runnerService,
+            @Value("${engine.bulk.fetch-parallelism:16}") int fetchParallelism) {
+        this.assetService = assetService;
+        this.runnerService = runnerService;
+        this.fetchParallelism = Math.max(1, fetchParallelism);
+    }
+
+    public List<BulkLintResultDTO> lint(List<UUID> snippetIds, Version version, LintSupportedRules rules,
+            SupportedLanguage language) {
+        return lint(snippetIds, version, rules, language, result -> {
+        });
+    }
+
+    public List<BulkLintResultDTO> lint(List<UUID> snippetIds, Version version, LintSupportedRules rules,
+            SupportedLanguage language, Consumer<BulkLintResultDTO> onResult) {
+        RuleDocuments.prepare(rules);
+        return process(snippetIds, Function.identity(), (snippetId, program) -> {
+            LintReport report = runnerService.lint(program, version, rules, language);
+            return new BulkLintResultDTO(snippetId, new ValidationResult(report.message(), report.passed(),
+                    report.diagnostics(), report.truncated()));
+        }, (snippetId, failure) -> new BulkLintResultDTO(snippetId, new ValidationResult(failure.message(), false),
+                failure.reason()), onResult);
+    }
+
+    public List<BulkFormatResultDTO> format(List<FormatTargetDTO> targets, Version version,
+            FormatterSupportedRules rules, SupportedLanguage language) {
+        return format(targets, version, rules, language, result -> {
+        });
+    }
+
+    public List<BulkFormatResultDTO> format(List<FormatTargetDTO> targets, Version version,
+            FormatterSupportedRules rules, SupportedLanguage language, Consumer<BulkFormatResultDTO> onResult) {
+        RuleDocuments.prepare(rules);
+        return process(targets, FormatTargetDTO::snippetId, (target, program) -> {
+            Result<UUID> formatted = runnerService.format(target.snippetId(), target.formatId(), program, version,
+                    rules, language);
+            return formatted.isCorrect() ? new BulkFormatResultDTO(target.snippetId(), true, null)
+                    : new BulkFormatResultDTO(target.snippetId(), false, formatted.error());
+        }, (target, failure) -> new BulkFormatResultDTO(target.snippetId(), false, failure.message(),
+                failure.reason()), onResult);
+    }
+
+    private <I, R> List<R> process(List<I> items, Function<I, UUID> snippetIdOf,
+            BiFunction<I, SnippetProgram, R> work, BiFunction<I, Failure, R> failure, Consumer<R> onResult) {
+        BlockingQueue<Fetched> fetched = new LinkedBlockingQueue<>();
+        List<R> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+        int next = 0;
+        int inFlight = 0;
+        while (next < items.size() || inFlight > 0) {
+            while (next < items.size() && inFlight < fetchParallelism) {
+                int index = next++;
+                assetService.fetchSnippetAsync(snippetIdOf.apply(items.get(index)))
+                        .whenComplete((response, e) -> fetched.add(new Fetched(index, response, e)));
+                inFlight++;
+            }
+            Fetched done = take(fetched);
+            inFlight--;
+            I item = items.get(done.index());
+            R result = run(item, done, work, failure);
+            results.set(done.index(), result);
+            deliver(result, onResult);
+        }
+        return results;
+    }
+
+    private <I, R> R run(I item, Fetched done, BiFunction<I, SnippetProgram, R> work,
+            BiFunction<I, Failure, R> failure) {
+        if (done.error() != null) {
+            return failure.apply(item, Failure.of(cause(done.error())));
+        }
+        if (!found(done.response())) {
+            return failure.apply(item, Failure.missing(done.response()));
+        }
+        try {
+            return work.apply(item, SnippetProgram.of(done.response().getBody().readAllBytes()));
+        } catch (Exception e) {
+            return failure.apply(item, Failure.of(e));
+        }
+    }
+
+    private static Fetched take(BlockingQueue<Fetched> fetched) {
+        try {
+            return fetched.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for snippet fetches", e);
+        }
+    }
+
+    private static <R> void deliver(R result, Consumer<R> onResult) {
+        try {
+            onResult.accept(result);
+        } catch (Exception e) {
+            logger.error("Failed to deliver bulk result {}", result, e);
+        }
+    }
+
+    private static boolean found(ResponseEntity<SnippetBody> response) {
+        return response.getStatusCode().is2xxSuccessful() && response.getBody() != null;
+    }
+
+    private static Throwable cause(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    private record Fetched(int index, ResponseEntity<SnippetBody> response, Throwable error) {
+    }
+
+    /**
+     * Why a snippet never reached the engine. {@code reason} is the status reason to record: {@code NOT_FOUND}, or
+     * {@code EXCEPTION: <type>} for anything else, as the single-snippet consumers record internal errors.
+     */
+    private record Failure(String reason, String message) {
+
+        static Failure of(Throwable e) {
+            return new Failure("EXCEPTION: " + e.getClass().getSimpleName(), "Internal error: " + e.getMessage());
+        }
+
+        static Failure missing(ResponseEntity<SnippetBody> response) {
+            if (response.getStatusCode().value() == 404 || response.getStatusCode().is2xxSuccessful()) {
+                return new Failure("NOT_FOUND", "Snippet not found");
+            }
+            return new Failure("EXCEPTION: HTTP " + response.getStatusCode().value(),
+                    "Internal error: bucket returned " + response.getStatusCode().value());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.ingsis.snippetManager.engine.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ingsis.engine.versions.Version;
+import com.ingsis.snippetManager.engine.supportedLanguage.SupportedLanguage;
+import com.ingsis.snippetManager.engine.supportedRules.RuleDocuments;
+import com.ingsis.utils.result.Result;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Memoizes lint and format results by content hash, rule set and version. Lookups go to a local LRU first and, when
+ * {@code engine.memo.redis.enabled} is set, to a Redis tier shared by every instance. The local tier is bounded by
+ * {@code engine.memo.max-bytes}, since a formatted snippet can be as large as the snippet itself. Rule sets are
+ * fingerprinted by the JSON document the engine receives, and hits and misses are exported as
+ * {@code engine.result.memo.hits} and {@code engine.result.memo.misses}.
+ */
+@Component
+public class EngineResultMemo {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngineResultMemo.class);
+    private static final String PREFIX = "engine:memo:";
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, MemoizedResult> local = new LinkedHashMap<>(16, 0.75f, true);
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long currentBytes;
+
+    public EngineResultMemo(@Value("${engine.memo.max-bytes:16777216}") long maxBytes,
+            @Value("${engine.memo.redis.enabled:false}") boolean redisEnabled,
+            @Value("${engine.memo.redis.ttl:1h}") Duration redisTtl, StringRedisTemplate redis,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.maxBytes = maxBytes;
+        this.redisEnabled = redisEnabled;
+        this.redisTtl = redisTtl;
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        FunctionCounter.builder("engine.result.memo.hits", hits, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("engine.result.memo.misses", misses, AtomicLong::get).register(meterRegistry);
+    }
+
+    public Result<String> computeIfAbsent(String operation, SnippetProgram program, Record rules, Version version,
+            SupportedLanguage language, Supplier<Result<String>> compute) {
+        String key = key(operation, program, rules, version, language);
+
+        MemoizedResult cached = lookup(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached.toResult();
+        }
+        misses.incrementAndGet();
+
+        Result<String> result = compute.get();
+        store(key, MemoizedResult.of(result));
+        return result;
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    private MemoizedResult lookup(String key) {
+        synchronized (local) {
+            MemoizedResult cached = local.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        if (!redisEnabled) {
+            return null;
+        }
+        try {
+            String json = redis.opsForValue().get(key);
+            if (json == null) {
+                return null;
+            }
+            MemoizedResult remote = objectMapper.readValue(json, MemoizedResult.class);
+            putLocal(key, remote);
+            return remote;
+        } catch (Exception e) {
+            logger.warn("Memo lookup failed for {}", key, e);
+            return null;
+        }
+    }
+
+    private void store(String key, MemoizedResult result) {
+        putLocal(key, result);
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redis.opsForValue().set(key, objectMapper.writeValueAsString(result), redisTtl);
+        } catch (Exception e) {
+            logger.warn("Memo store failed for {}", key, e);
+        }
+    }
+
+    private void putLocal(String key, MemoizedResult result) {
+        long size = sizeInBytes(key, result);
+        synchronized (local) {
+            if (size > maxBytes) {
+                MemoizedResult removed = local.remove(key);
+                if (removed != null) {
+                    currentBytes -= sizeInBytes(key, removed);
+                }
+                return;
+            }
+            MemoizedResult previous = local.put(key, result);
+            if (previous != null) {
+                currentBytes -= sizeInBytes(key, previous);
+            }
+            currentBytes += size;
+
+            Iterator<Map.Entry<String, MemoizedResult>> it = local.entrySet().iterator();
+            while (currentBytes > maxBytes && it.hasNext()) {
+                Map.Entry<String, MemoizedResult> eldest = it.next();
+                currentBytes -= sizeInBytes(eldest.getKey(), eldest.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    private static long sizeInBytes(String key, MemoizedResult result) {
+        return 2L * key.length() + result.sizeInBytes();
+    }
+
+    private static String key(String operation, SnippetProgram program, Record rules, Version version,
+            SupportedLanguage language) {
+        String fingerprint = ContentHash.of(RuleDocuments.document(rules));
+        return PREFIX + operation + ":" + language + ":" + version + ":" + program.contentHash() + ":" + fingerprint;
+    }
+}
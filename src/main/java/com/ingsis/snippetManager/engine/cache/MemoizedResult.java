@@ -0,0 +1,25 @@
+package com.ingsis.snippetManager.engine.cache;
+
+import com.ingsis.utils.result.CorrectResult;
+import com.ingsis.utils.result.IncorrectResult;
+import com.ingsis.utils.result.Result;
+
+public record MemoizedResult(boolean correct, String value) {
+
+    public static MemoizedResult of(Result<String> result) {
+        return result.isCorrect()
+                ? new MemoizedResult(true, result.result())
+                : new MemoizedResult(false, result.error());
+    }
+
+    /**
+     * Approximate heap footprint of the value, counting two bytes per character.
+     */
+    public long sizeInBytes() {
+        return value == null ? 0 : 2L * value.length();
+    }
+
+    public Result<String> toResult() {
+        return correct ? new CorrectResult<>(value) : new IncorrectResult<>(value);
+    }
+}
@@ -0,0 +1,23 @@
+package com.ingsis.snippetManager.engine.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * Snippet source together with its content hash, which is what {@link EngineResultMemo} keys lint and format results
+ * on.
+ */
+public record SnippetProgram(String contentHash, byte[] source) {
+
+    public static SnippetProgram of(byte[] source) {
+        return new SnippetProgram(ContentHash.of(source), source);
+    }
+
+    public InputStream openStream() {
+        return new ByteArrayInputStream(source);
+    }
+
+    public int size() {
+        return source.length;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ingsis.snippetManager.engine.config;
+
+import com.ingsis.snippetManager.engine.runner.ExecutionBudget;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class EngineConfig {
+
+    @Bean
+    public ExecutionBudget executionBudget(@Value("${engine.budget.max-wall-time:10s}") Duration maxWallTime,
+            @Value("${engine.budget.max-output-lines:10000}") int maxOutputLines,
+            @Value("${engine.budget.max-output-bytes:1048576}") long maxOutputBytes,
+            @Value("${engine.budget.max-input-reads:10000}") int maxInputReads) {
+        return new ExecutionBudget(maxWallTime, maxOutputLines, maxOutputBytes, maxInputReads);
+    }
+}
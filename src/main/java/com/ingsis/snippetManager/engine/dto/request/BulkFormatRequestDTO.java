@@ -0,0 +1,9 @@
+package com.ingsis.snippetManager.engine.dto.request;
+
+import com.ingsis.snippetManager.engine.supportedLanguage.SupportedLanguage;
+import com.ingsis.snippetManager.engine.supportedRules.FormatterSupportedRules;
+import java.util.List;
+
+public record BulkFormatRequestDTO(List<FormatTargetDTO> snippets, String version, SupportedLanguage language,
+        FormatterSupportedRules formatterSupportedRules) {
+}
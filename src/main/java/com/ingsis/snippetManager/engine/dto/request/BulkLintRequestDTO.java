@@ -0,0 +1,10 @@
+package com.ingsis.snippetManager.engine.dto.request;
+
+import com.ingsis.snippetManager.engine.supportedLanguage.SupportedLanguage;
+import com.ingsis.snippetManager.engine.supportedRules.LintSupportedRules;
+import java.util.List;
+import java.util.UUID;
+
+public record BulkLintRequestDTO(List<UUID> snippetIds, SupportedLanguage language, String version,
+        LintSupportedRules rules) {
+}
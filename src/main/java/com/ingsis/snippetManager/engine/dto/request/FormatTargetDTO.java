@@ -0,0 +1,6 @@
+package com.ingsis.snippetManager.engine.dto.request;
+
+import java.util.UUID;
+
+public record FormatTargetDTO(UUID snippetId, UUID formatId) {
+}
@@ -6,5 +6,5 @@ import java.util.Map;
 import java.util.UUID;
 
 public record RunSnippetRequestDTO(UUID snippetId, SupportedLanguage language, List<String> inputs, String version,
-        Map<String, String> envs) {
+        Map<String, String> envs, boolean profile) {
 }
@@ -0,0 +1,8 @@
+package com.ingsis.snippetManager.engine.dto.request;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public record TestCaseDTO(UUID testId, List<String> inputs, List<String> outputs, Map<String, String> envs) {
+}
@@ -0,0 +1,9 @@
+package com.ingsis.snippetManager.engine.dto.request;
+
+import com.ingsis.snippetManager.engine.supportedLanguage.SupportedLanguage;
+import java.util.List;
+import java.util.UUID;
+
+public record TestSuiteRequestDTO(UUID snippetId, SupportedLanguage language, String version,
+        List<TestCaseDTO> cases) {
+}
@@ -0,0 +1,14 @@
+package com.ingsis.snippetManager.engine.dto.response;
+
+import java.util.UUID;
+
+/**
+ * {@code failure} is the status reason when the snippet could not be formatted at all (not found, or an internal
+ * error), and {@code null} when the engine ran.
+ */
+public record BulkFormatResultDTO(UUID snippetId, boolean formatted, String error, String failure) {
+
+    public BulkFormatResultDTO(UUID snippetId, boolean formatted, String error) {
+        this(snippetId, formatted, error, null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.ingsis.snippetManager.engine.dto.response;
+
+import java.util.UUID;
+
+/**
+ * {@code failure} is the status reason when the snippet could not be linted at all (not found, or an internal error),
+ * and {@code null} when the engine ran.
+ */
+public record BulkLintResultDTO(UUID snippetId, ValidationResult result, String failure) {
+
+    public BulkLintResultDTO(UUID snippetId, ValidationResult result) {
+        this(snippetId, result, null);
+    }
+}
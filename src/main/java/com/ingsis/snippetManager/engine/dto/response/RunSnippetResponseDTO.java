@@ -1,6 +1,13 @@
 package com.ingsis.snippetManager.engine.dto.response;
 
+import com.ingsis.snippetManager.engine.runner.ExecutionLimit;
+import com.ingsis.snippetManager.engine.runner.ExecutionProfile;
 import java.util.List;
 
-public record RunSnippetResponseDTO(List<String> outputs, List<String> errors) {
+public record RunSnippetResponseDTO(List<String> outputs, List<String> errors, ExecutionLimit limitExceeded,
+        ExecutionProfile profile) {
+
+    public RunSnippetResponseDTO(List<String> outputs, List<String> errors) {
+        this(outputs, errors, null, null);
+    }
 }
@@ -0,0 +1,8 @@
+package com.ingsis.snippetManager.engine.dto.response;
+
+import com.ingsis.snippetManager.redis.dto.testing.SnippetTestStatus;
+import java.util.List;
+import java.util.UUID;
+
+public record TestCaseResultDTO(UUID testId, List<String> outputs, List<String> errors, SnippetTestStatus status) {
+}
@@ -1,7 +1,13 @@
 package com.ingsis.snippetManager.engine.dto.response;
 
+import com.ingsis.snippetManager.engine.runner.ExecutionProfile;
 import com.ingsis.snippetManager.redis.dto.testing.SnippetTestStatus;
 import java.util.List;
 
-public record TestResponseDTO(List<String> outputs, List<String> errors, SnippetTestStatus status) {
+public record TestResponseDTO(List<String> outputs, List<String> errors, SnippetTestStatus status,
+        ExecutionProfile profile) {
+
+    public TestResponseDTO(List<String> outputs, List<String> errors, SnippetTestStatus status) {
+        this(outputs, errors, status, null);
+    }
 }
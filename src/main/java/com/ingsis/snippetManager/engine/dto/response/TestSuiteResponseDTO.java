@@ -0,0 +1,8 @@
+package com.ingsis.snippetManager.engine.dto.response;
+
+import com.ingsis.snippetManager.redis.dto.testing.SnippetTestStatus;
+import java.util.List;
+import java.util.UUID;
+
+public record TestSuiteResponseDTO(UUID snippetId, List<TestCaseResultDTO> results, SnippetTestStatus status) {
+}
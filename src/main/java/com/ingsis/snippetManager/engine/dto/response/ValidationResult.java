@@ -1,4 +1,11 @@
 package com.ingsis.snippetManager.engine.dto.response;
 
-public record ValidationResult(String message, boolean valid) {
+import com.ingsis.snippetManager.engine.lint.LintDiagnostic;
+import java.util.List;
+
+public record ValidationResult(String message, boolean valid, List<LintDiagnostic> diagnostics, boolean truncated) {
+
+    public ValidationResult(String message, boolean valid) {
+        this(message, valid, List.of(), false);
+    }
 }
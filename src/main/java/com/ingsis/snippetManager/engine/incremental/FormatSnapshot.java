@@ -0,0 +1,28 @@
+package com.ingsis.snippetManager.engine.incremental;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Formatted output of the last version of a snippet, by statement. The formatter decides the blank lines before a
+ * statement from the statement preceding it, so each output is keyed by the trimmed source of the statement together
+ * with that of its predecessor; the first statement has none, since the formatter treats the start of the file apart.
+ */
+record FormatSnapshot(Map<Context, String> formattedByContext, String tail) {
+
+    record Context(String previous, String statement) {
+    }
+
+    String reuse(String previous, String statement) {
+        return formattedByContext.get(new Context(previous, statement));
+    }
+
+    static FormatSnapshot of(List<String> statements, List<String> formatted, String tail) {
+        Map<Context, String> byContext = new HashMap<>();
+        for (int i = 0; i < statements.size(); i++) {
+            byContext.put(new Context(i == 0 ? null : statements.get(i - 1), statements.get(i)), formatted.get(i));
+        }
+        return new FormatSnapshot(byContext, tail);
+    }
+}
@@ -0,0 +1,163 @@
+package com.ingsis.snippetManager.engine.incremental;
+
+import com.ingsis.engine.versions.Version;
+import com.ingsis.snippetManager.engine.cache.SnippetProgram;
+import com.ingsis.snippetManager.engine.supportedLanguage.SupportedLanguage;
+import com.ingsis.snippetManager.engine.supportedRules.FormatterSupportedRules;
+import com.ingsis.utils.result.CorrectResult;
+import com.ingsis.utils.result.Result;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Formats a snippet by sending only the top-level statements that changed since its last format to the engine, and
+ * splicing them into the formatted statements kept from that run. A statement's output is only reused when the
+ * statement before it is unchanged too, because the formatter derives its leading blank lines from that predecessor;
+ * so the statement right after each changed run is formatted again. Every changed run of statements is preceded by
+ * the unchanged statement before it, so the formatter sees the same context it would in a full pass; that anchor's
+ * output is discarded.
+ *
+ * <p>
+ * Enabled with {@code engine.incremental.enabled}. Anything unexpected (source that does not split into statements, a
+ * failed batch, a statement count that does not line up) falls back to formatting the whole file.
+ */
+@Component
+public class IncrementalFormatter {
+
+    private final boolean enabled;
+    private final Map<String, FormatSnapshot> snapshots;
+    private final AtomicLong reusedStatements = new AtomicLong();
+    private final AtomicLong formattedStatements = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    public IncrementalFormatter(@Value("${engine.incremental.enabled:false}") boolean enabled,
+            @Value("${engine.incremental.max-snippets:1000}") int maxSnippets) {
+        this.enabled = enabled;
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, FormatSnapshot> eldest) {
+                return size() > maxSnippets;
+            }
+        };
+    }
+
+    public Result<byte[]> format(UUID snippetId, SnippetProgram program, FormatterSupportedRules rules,
+            Version version, SupportedLanguage language, Function<InputStream, Result<byte[]>> formatter) {
+        if (!enabled || language != SupportedLanguage.PRINTSCRIPT) {
+            return formatter.apply(program.openStream());
+        }
+        String key = snippetId + ":" + version + ":" + rules;
+        StatementSegmenter.Segmentation input = StatementSegmenter
+                .split(new String(program.source(), StandardCharsets.UTF_8));
+        if (input == null || input.segments().isEmpty()) {
+            return full(key, program, input, formatter);
+        }
+
+        List<String> statements = input.segments().stream().map(String::strip).toList();
+        FormatSnapshot previous = snapshot(key);
+        String[] formatted = new String[statements.size()];
+        int reused = 0;
+        for (int i = 0; i < statements.size() && previous != null; i++) {
+            formatted[i] = previous.reuse(i == 0 ? null : statements.get(i - 1), statements.get(i));
+            reused += formatted[i] == null ? 0 : 1;
+        }
+
+        List<Integer> batch = new ArrayList<>();
+        for (int i = 0; i < formatted.length; i++) {
+            if (formatted[i] != null) {
+                continue;
+            }
+            if (i > 0 && (batch.isEmpty() || batch.get(batch.size() - 1) != i - 1)) {
+                batch.add(i - 1);
+            }
+            batch.add(i);
+        }
+
+        String tail = previous == null ? "" : previous.tail();
+        if (!batch.isEmpty()) {
+            StringBuilder batchSource = new StringBuilder();
+            batch.forEach(i -> batchSource.append(input.segments().get(i)));
+            Result<byte[]> result = formatter
+                    .apply(new ByteArrayInputStream(batchSource.toString().getBytes(StandardCharsets.UTF_8)));
+            if (!result.isCorrect()) {
+                return full(key, program, input, formatter);
+            }
+            StatementSegmenter.Segmentation output = StatementSegmenter
+                    .split(new String(result.result(), StandardCharsets.UTF_8));
+            if (output == null || output.segments().size() != batch.size()) {
+                return full(key, program, input, formatter);
+            }
+            for (int k = 0; k < batch.size(); k++) {
+                int i = batch.get(k);
+                if (formatted[i] == null) {
+                    formatted[i] = output.segments().get(k);
+                    formattedStatements.incrementAndGet();
+                }
+            }
+            if (batch.get(batch.size() - 1) == formatted.length - 1) {
+                tail = output.tail();
+            }
+        }
+        reusedStatements.addAndGet(reused);
+
+        store(key, FormatSnapshot.of(statements, Arrays.asList(formatted), tail));
+        return new CorrectResult<>((String.join("", formatted) + tail).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long reusedStatements() {
+        return reusedStatements.get();
+    }
+
+    public long formattedStatements() {
+        return formattedStatements.get();
+    }
+
+    public long fallbacks() {
+        return fallbacks.get();
+    }
+
+    private Result<byte[]> full(String key, SnippetProgram program, StatementSegmenter.Segmentation input,
+            Function<InputStream, Result<byte[]>> formatter) {
+        fallbacks.incrementAndGet();
+        Result<byte[]> result = formatter.apply(program.openStream());
+        StatementSegmenter.Segmentation output = result.isCorrect()
+                ? StatementSegmenter.split(new String(result.result(), StandardCharsets.UTF_8))
+                : null;
+        if (input == null || output == null || output.segments().size() != input.segments().size()) {
+            forget(key);
+            return result;
+        }
+        store(key, FormatSnapshot.of(input.segments().stream().map(String::strip).toList(), output.segments(),
+                output.tail()));
+        return result;
+    }
+
+    private FormatSnapshot snapshot(String key) {
+        synchronized (snapshots) {
+            return snapshots.get(key);
+        }
+    }
+
+    private void store(String key, FormatSnapshot snapshot) {
+        synchronized (snapshots) {
+            snapshots.put(key, snapshot);
+        }
+    }
+
+    private void forget(String key) {
+        synchronized (snapshots) {
+            snapshots.remove(key);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.ingsis.snippetManager.engine.incremental;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits PrintScript source into its top-level statements without parsing it. A statement ends at a {@code ;} outside
+ * any block, or at the {@code }} closing a top-level block unless an {@code else} follows. Whitespace before a
+ * statement belongs to it, so concatenating the segments and the tail gives back the original text.
+ */
+final class StatementSegmenter {
+
+    private StatementSegmenter() {
+    }
+
+    record Segmentation(List<String> segments, String tail) {
+    }
+
+    /**
+     * Returns {@code null} when the text does not split cleanly, e.g. an unterminated string, unbalanced braces or
+     * trailing text without a terminator; callers then fall back to handling the whole file.
+     */
+    static Segmentation split(String source) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        int depth = 0;
+        char quote = 0;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            switch (c) {
+                case '"', '\'' -> quote = c;
+                case '{' -> depth++;
+                case '}' -> {
+                    if (--depth < 0) {
+                        return null;
+                    }
+                    if (depth == 0 && !followedByElse(source, i + 1)) {
+                        segments.add(source.substring(start, i + 1));
+                        start = i + 1;
+                    }
+                }
+                case ';' -> {
+                    if (depth == 0) {
+                        segments.add(source.substring(start, i + 1));
+                        start = i + 1;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        String tail = source.substring(start);
+        if (quote != 0 || depth != 0 || !tail.isBlank()) {
+            return null;
+        }
+        return new Segmentation(segments, tail);
+    }
+
+    private static boolean followedByElse(String source, int from) {
+        int i = from;
+        while (i < source.length() && Character.isWhitespace(source.charAt(i))) {
+            i++;
+        }
+        return source.startsWith("else", i)
+                && (i + 4 == source.length() || !Character.isJavaIdentifierPart(source.charAt(i + 4)));
+    }
+}
@@ -0,0 +1,7 @@
+package com.ingsis.snippetManager.engine.lint;
+
+/**
+ * One lint finding. {@code line} and {@code column} are 1-based, or 0 when the engine did not report a position.
+ */
+public record LintDiagnostic(String rule, int line, int column, String message) {
+}
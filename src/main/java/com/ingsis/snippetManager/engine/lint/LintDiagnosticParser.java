@@ -0,0 +1,76 @@
+package com.ingsis.snippetManager.engine.lint;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns the text the engine reports for a failed analyze (its error plus whatever it wrote to stderr) into
+ * {@link LintDiagnostic}s, one per distinct non-blank line. The engine has no structured output, so positions and
+ * rules are recovered from the wording: {@code line 3, column 5}, {@code 3:5} or {@code line 3}, and the rule from
+ * the name of the construct it complains about.
+ */
+public final class LintDiagnosticParser {
+
+    private static final Pattern LINE_AND_COLUMN = Pattern
+            .compile("(?i)line\\D{0,3}(\\d+)\\D{1,12}col(?:umn)?\\D{0,3}(\\d+)");
+    private static final Pattern PAIR = Pattern.compile("\\b(\\d+):(\\d+)\\b");
+    private static final Pattern LINE_ONLY = Pattern.compile("(?i)line\\D{0,3}(\\d+)");
+
+    private LintDiagnosticParser() {
+    }
+
+    public static LintReport parse(boolean passed, String message, int maxDiagnostics) {
+        if (passed || message == null) {
+            return new LintReport(passed, message, List.of(), 0, false);
+        }
+        Set<String> lines = new LinkedHashSet<>();
+        for (String line : message.split("\\R")) {
+            if (!line.isBlank()) {
+                lines.add(line.strip());
+            }
+        }
+        List<LintDiagnostic> diagnostics = new ArrayList<>(Math.min(lines.size(), maxDiagnostics));
+        for (String line : lines) {
+            if (diagnostics.size() == maxDiagnostics) {
+                break;
+            }
+            diagnostics.add(diagnostic(line));
+        }
+        return new LintReport(false, message, diagnostics, lines.size(), lines.size() > diagnostics.size());
+    }
+
+    private static LintDiagnostic diagnostic(String text) {
+        int line = 0;
+        int column = 0;
+        Matcher matcher = LINE_AND_COLUMN.matcher(text);
+        if (matcher.find()) {
+            line = Integer.parseInt(matcher.group(1));
+            column = Integer.parseInt(matcher.group(2));
+        } else if ((matcher = PAIR.matcher(text)).find()) {
+            line = Integer.parseInt(matcher.group(1));
+            column = Integer.parseInt(matcher.group(2));
+        } else if ((matcher = LINE_ONLY.matcher(text)).find()) {
+            line = Integer.parseInt(matcher.group(1));
+        }
+        return new LintDiagnostic(rule(text), line, column, text);
+    }
+
+    private static String rule(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        if (lower.contains("readinput")) {
+            return "mandatoryVariableOrLiteralInReadInput";
+        }
+        if (lower.contains("println")) {
+            return "mandatoryVariableOrLiteralInPrintln";
+        }
+        if (lower.contains("identifier") || lower.contains("camel") || lower.contains("snake")) {
+            return "identifierFormat";
+        }
+        return "general";
+    }
+}
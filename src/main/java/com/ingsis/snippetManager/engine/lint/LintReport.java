@@ -0,0 +1,11 @@
+package com.ingsis.snippetManager.engine.lint;
+
+import java.util.List;
+
+/**
+ * Outcome of a lint run. {@code diagnostics} holds at most {@code engine.lint.max-diagnostics} entries;
+ * {@code total} is how many were found and {@code truncated} tells whether some were dropped.
+ */
+public record LintReport(boolean passed, String message, List<LintDiagnostic> diagnostics, int total,
+        boolean truncated) {
+}
@@ -0,0 +1,70 @@
+package com.ingsis.snippetManager.engine.runner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Collects what the engine writes to {@code System.err} during a call on the current thread. {@code System.err} is
+ * replaced once by a stream that routes each write to the capture active on the writing thread, or to the original
+ * stderr when there is none, so concurrent captures never see each other's output.
+ */
+public final class DiagnosticsCapture implements AutoCloseable {
+
+    private static final ThreadLocal<ByteArrayOutputStream> SINK = new ThreadLocal<>();
+    private static final PrintStream ORIGINAL = System.err;
+
+    static {
+        System.setErr(new PrintStream(new RoutingOutputStream(), true));
+    }
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    private DiagnosticsCapture() {
+        SINK.set(buffer);
+    }
+
+    public static DiagnosticsCapture start() {
+        return new DiagnosticsCapture();
+    }
+
+    public String contents() {
+        return buffer.toString();
+    }
+
+    @Override
+    public void close() {
+        SINK.remove();
+    }
+
+    private static final class RoutingOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) {
+            ByteArrayOutputStream sink = SINK.get();
+            if (sink != null) {
+                sink.write(b);
+            } else {
+                ORIGINAL.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ByteArrayOutputStream sink = SINK.get();
+            if (sink != null) {
+                sink.write(b, off, len);
+            } else {
+                ORIGINAL.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (SINK.get() == null) {
+                ORIGINAL.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.ingsis.snippetManager.engine.runner;
+
+import java.time.Duration;
+
+public record ExecutionBudget(Duration maxWallTime, int maxOutputLines, long maxOutputBytes, int maxInputReads) {
+
+    public static ExecutionBudget unlimited() {
+        return new ExecutionBudget(Duration.ZERO, 0, 0, 0);
+    }
+}
@@ -0,0 +1,183 @@
+package com.ingsis.snippetManager.engine.runner;
+
+import com.ingsis.utils.runtime.PrintEmitter;
+import com.ingsis.utils.runtime.environment.Environment;
+import com.ingsis.utils.type.types.Types;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * State owned by a single snippet run: its emitter, input cursor, environment variables and budget. Nothing in here is
+ * shared between runs, so contexts can be prepared and inspected concurrently.
+ *
+ * <p>
+ * The budget is enforced cooperatively: every print and native input call checks it and aborts the run with an
+ * {@link ExecutionLimitExceededException} once a limit is crossed. The wall-time clock only starts with
+ * {@link #start()}, once the run holds the engine runtime, so time spent waiting for it is not charged.
+ */
+public final class ExecutionContext {
+
+    private final PrintEmitter delegate;
+    private final PrintEmitter emitter;
+    private final AtomicInteger inputIndex = new AtomicInteger(0);
+    private final List<String> inputs;
+    private final Map<String, String> envs;
+    private final ExecutionBudget budget;
+    private long deadline;
+    private final ExecutionProfiler profiler;
+    private int outputLines;
+    private long outputBytes;
+    private volatile ExecutionLimit exceeded;
+
+    public ExecutionContext(List<String> inputs, Map<String, String> envs) {
+        this(new CollectingEmitter(), inputs, envs);
+    }
+
+    public ExecutionContext(PrintEmitter emitter, List<String> inputs, Map<String, String> envs) {
+        this(emitter, inputs, envs, ExecutionBudget.unlimited());
+    }
+
+    public ExecutionContext(PrintEmitter emitter, List<String> inputs, Map<String, String> envs,
+            ExecutionBudget budget) {
+        this(emitter, inputs, envs, budget, false);
+    }
+
+    public ExecutionContext(PrintEmitter emitter, List<String> inputs, Map<String, String> envs,
+            ExecutionBudget budget, boolean profile) {
+        this.delegate = emitter;
+        this.emitter = this::print;
+        this.inputs = inputs == null ? List.of() : inputs;
+        this.envs = envs == null ? Map.of() : envs;
+        this.budget = budget;
+        this.profiler = profile ? new ExecutionProfiler() : null;
+    }
+
+    public void start() {
+        if (!budget.maxWallTime().isZero()) {
+            deadline = System.nanoTime() + budget.maxWallTime().toNanos();
+        }
+    }
+
+    public PrintEmitter emitter() {
+        return emitter;
+    }
+
+    public List<String> outputs() {
+        return delegate instanceof CollectingEmitter collecting ? collecting.outputs() : List.of();
+    }
+
+    public ExecutionLimit exceededLimit() {
+        return exceeded;
+    }
+
+    public ExecutionProfiler profiler() {
+        return profiler;
+    }
+
+    public ExecutionProfile profile() {
+        return profiler == null ? null : profiler.profile();
+    }
+
+    public void install(Environment env) {
+        for (var e : envs.entrySet()) {
+            env.createVariable(e.getKey(), Types.STRING, e.getValue(), false);
+        }
+
+        /* readInput() */
+        env.createFunction("readInput", new LinkedHashMap<>(), Types.STRING);
+        env.updateFunction("readInput", List.of(new NativeExpressionNode(() -> profiled("readInput", nextInput()))));
+
+        /* readNumber() */
+        env.createFunction("readNumber", new LinkedHashMap<>(), Types.NUMBER);
+        env.updateFunction("readNumber",
+                List.of(new NativeExpressionNode(() -> profiled("readNumber", nextNumber()))));
+
+        /* readEnv(key) */
+        LinkedHashMap<String, Types> args = new LinkedHashMap<>();
+        args.put("key", Types.STRING);
+
+        env.createFunction("readEnv", args, Types.STRING);
+        env.updateFunction("readEnv", List.of(new NativeExpressionNode(() -> profiled("readEnv", readEnv(env)))));
+    }
+
+    private Object profiled(String function, Object value) {
+        if (profiler != null) {
+            profiler.nativeCall(function);
+        }
+        return value;
+    }
+
+    private void print(String value) {
+        checkWallTime();
+        if (profiler != null) {
+            profiler.print();
+        }
+        outputLines++;
+        if (budget.maxOutputLines() > 0 && outputLines > budget.maxOutputLines()) {
+            exceed(ExecutionLimit.OUTPUT_LINES);
+        }
+        outputBytes += value == null ? 4 : value.getBytes(StandardCharsets.UTF_8).length;
+        if (budget.maxOutputBytes() > 0 && outputBytes > budget.maxOutputBytes()) {
+            exceed(ExecutionLimit.OUTPUT_BYTES);
+        }
+        delegate.print(value);
+    }
+
+    private int nextInputIndex() {
+        checkWallTime();
+        int i = inputIndex.getAndIncrement();
+        if (budget.maxInputReads() > 0 && i >= budget.maxInputReads()) {
+            exceed(ExecutionLimit.INPUT_READS);
+        }
+        return i;
+    }
+
+    private void checkWallTime() {
+        if (deadline != 0 && System.nanoTime() - deadline > 0) {
+            exceed(ExecutionLimit.WALL_TIME);
+        }
+    }
+
+    private void exceed(ExecutionLimit limit) {
+        exceeded = limit;
+        throw new ExecutionLimitExceededException(limit);
+    }
+
+    private Object nextInput() {
+        int i = nextInputIndex();
+        return i < inputs.size() ? inputs.get(i) : "";
+    }
+
+    private Object nextNumber() {
+        int i = nextInputIndex();
+        if (i >= inputs.size()) {
+            return 0.0;
+        }
+        try {
+            return Double.parseDouble(inputs.get(i));
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    private Object readEnv(Environment env) {
+        checkWallTime();
+        var keyResult = env.readVariable("key");
+
+        if (!keyResult.isCorrect() || keyResult.result().value() == null) {
+            return "";
+        }
+
+        String key = keyResult.result().value().toString();
+        var valueResult = env.readVariable(key);
+
+        if (!valueResult.isCorrect() || valueResult.result().value() == null) {
+            return "";
+        }
+
+        return valueResult.result().value().toString();
+    }
+}
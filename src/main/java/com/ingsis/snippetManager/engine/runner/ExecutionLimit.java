@@ -0,0 +1,5 @@
+package com.ingsis.snippetManager.engine.runner;
+
+public enum ExecutionLimit {
+    WALL_TIME, OUTPUT_LINES, OUTPUT_BYTES, INPUT_READS
+}
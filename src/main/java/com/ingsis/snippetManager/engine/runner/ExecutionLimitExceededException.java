@@ -0,0 +1,15 @@
+package com.ingsis.snippetManager.engine.runner;
+
+public class ExecutionLimitExceededException extends RuntimeException {
+
+    private final ExecutionLimit limit;
+
+    public ExecutionLimitExceededException(ExecutionLimit limit) {
+        super("Execution limit exceeded: " + limit);
+        this.limit = limit;
+    }
+
+    public ExecutionLimit limit() {
+        return limit;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ingsis.snippetManager.engine.runner;
+
+import java.util.Map;
+
+/**
+ * What a profiled run cost, as totals for the whole engine call: wall and CPU time, bytes allocated by the running
+ * thread, and how often the snippet printed or called each native function. The engine exposes no hooks between its
+ * lex, parse, check and interpret phases, so there is no per-phase breakdown or statement count. Values the JVM cannot
+ * measure are reported as -1.
+ */
+public record ExecutionProfile(double totalWallMillis, double totalCpuMillis, long totalAllocatedBytes, int printCalls,
+        Map<String, Integer> nativeCalls) {
+}
@@ -0,0 +1,64 @@
+package com.ingsis.snippetManager.engine.runner;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects an {@link ExecutionProfile} for one run. Only created when a request asks for profiling; unprofiled runs
+ * carry no profiler and pay a single null check per print or native call.
+ */
+public final class ExecutionProfiler {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private final Map<String, Integer> nativeCalls = new LinkedHashMap<>();
+    private int printCalls;
+    private long startNanos;
+    private long startCpuNanos;
+    private long startAllocated;
+    private long wallNanos;
+    private long cpuNanos = -1;
+    private long allocatedBytes = -1;
+
+    public void start() {
+        startAllocated = allocatedBytes();
+        startCpuNanos = cpuNanos();
+        startNanos = System.nanoTime();
+    }
+
+    public void stop() {
+        wallNanos = System.nanoTime() - startNanos;
+        long cpu = cpuNanos();
+        cpuNanos = cpu < 0 || startCpuNanos < 0 ? -1 : cpu - startCpuNanos;
+        long allocated = allocatedBytes();
+        allocatedBytes = allocated < 0 || startAllocated < 0 ? -1 : allocated - startAllocated;
+    }
+
+    void print() {
+        printCalls++;
+    }
+
+    void nativeCall(String function) {
+        nativeCalls.merge(function, 1, Integer::sum);
+    }
+
+    public ExecutionProfile profile() {
+        return new ExecutionProfile(wallNanos / 1_000_000.0, cpuNanos < 0 ? -1 : cpuNanos / 1_000_000.0,
+                allocatedBytes, printCalls, Map.copyOf(nativeCalls));
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null && THREADS.isThreadAllocatedMemoryEnabled() ? THREADS.getCurrentThreadAllocatedBytes()
+                : -1;
+    }
+
+    private static long cpuNanos() {
+        return THREADS != null && THREADS.isThreadCpuTimeEnabled() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        return ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() ? bean : null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.ingsis.snippetManager.engine.runner;
+
+import com.ingsis.utils.runtime.DefaultRuntime;
+import com.ingsis.utils.runtime.PrintEmitter;
+import com.ingsis.utils.runtime.environment.Environment;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Exclusive lease over the engine runtime for a single execution. The engine resolves its runtime through
+ * {@link DefaultRuntime#getInstance()}, so a session starts from an empty environment stack with its own emitter and
+ * leaves nothing behind for the next one.
+ *
+ * <p>
+ * The pinned engine offers no way to hand it a runtime per call, so there is one runtime per JVM and every interpret,
+ * lint and format call is serialized behind {@link #LOCK}. Engine work does not scale with cores; only the bucket and
+ * Redis I/O around it runs in parallel. Callers must not put pools or permits in front of the engine expecting more.
+ */
+public final class RuntimeSession implements AutoCloseable {
+
+    private static final ReentrantLock LOCK = new ReentrantLock();
+
+    private final DefaultRuntime runtime;
+
+    private RuntimeSession(DefaultRuntime runtime) {
+        this.runtime = runtime;
+    }
+
+    public static RuntimeSession open(PrintEmitter emitter) {
+        LOCK.lock();
+        try {
+            DefaultRuntime runtime = DefaultRuntime.getInstance();
+            clear(runtime);
+            runtime.setEmitter(emitter);
+            runtime.push();
+            return new RuntimeSession(runtime);
+        } catch (RuntimeException e) {
+            LOCK.unlock();
+            throw e;
+        }
+    }
+
+    public Environment environment() {
+        return runtime.getCurrentEnvironment();
+    }
+
+    @Override
+    public void close() {
+        try {
+            clear(runtime);
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    private static void clear(DefaultRuntime runtime) {
+        while (runtime.pop().isCorrect()) {
+        }
+        runtime.setEmitter(null);
+        runtime.setExecutionError(null);
+    }
+}
@@ -0,0 +1,107 @@
+package com.ingsis.snippetManager.engine.runner;
+
+import com.ingsis.utils.runtime.PrintEmitter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends every printed value to the response as a Server-Sent Event. The interpreter only hands frames to a bounded
+ * buffer; a separate writer thread drains it to the client, so no network I/O happens while the engine runtime is
+ * held. If the buffer stays full for longer than the stall timeout the run is failed, and after the first failed write
+ * nothing more is sent.
+ */
+public final class StreamingEmitter implements PrintEmitter {
+
+    private static final byte[] CLOSE = new byte[0];
+
+    private final OutputStream out;
+    private final BlockingQueue<byte[]> frames;
+    private final Duration stallTimeout;
+    private final Thread writer;
+    private volatile IOException failure;
+
+    public StreamingEmitter(OutputStream out, int bufferFrames, Duration stallTimeout) {
+        this.out = out;
+        this.frames = new ArrayBlockingQueue<>(Math.max(1, bufferFrames));
+        this.stallTimeout = stallTimeout;
+        this.writer = Thread.ofVirtual().name("sse-writer").start(this::drain);
+    }
+
+    @Override
+    public void print(String value) {
+        enqueue(frame(null, value == null ? "null" : value), true);
+    }
+
+    public void error(String message) {
+        enqueue(frame("error", message == null ? "" : message), false);
+    }
+
+    /**
+     * Sends the end event and waits until the writer has flushed everything, unless the client has already failed.
+     */
+    public void end() {
+        enqueue(frame("end", ""), false);
+        enqueue(CLOSE, false);
+        if (failure != null) {
+            writer.interrupt();
+            return;
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            writer.interrupt();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(byte[] frame, boolean failRun) {
+        if (failure == null && !offer(frame)) {
+            failure = new IOException("Client did not read execution output for " + stallTimeout);
+            frames.clear();
+        }
+        if (failure != null && failRun) {
+            throw new UncheckedIOException("Client stopped reading execution output", failure);
+        }
+    }
+
+    private boolean offer(byte[] frame) {
+        try {
+            return frames.offer(frame, stallTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drain() {
+        try {
+            for (byte[] frame = frames.take(); frame != CLOSE; frame = frames.take()) {
+                out.write(frame);
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            failure = e;
+            frames.clear();
+        }
+    }
+
+    private static byte[] frame(String event, String data) {
+        StringBuilder frame = new StringBuilder();
+        if (event != null) {
+            frame.append("event: ").append(event).append('\n');
+        }
+        for (String line : data.split("\r?\n", -1)) {
+            frame.append("data: ").append(line).append('\n');
+        }
+        frame.append('\n');
+        return frame.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,115 @@
+package com.ingsis.snippetManager.engine.supportedRules;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Engine rule documents compiled once per distinct rule set. The serialized JSON is immutable and shared between
+ * threads; every call only wraps it in a new stream. Each rule type keeps its {@code MAX_DOCUMENTS} most recently
+ * used documents.
+ */
+public final class RuleDocuments {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuleDocuments.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int MAX_DOCUMENTS = 1024;
+
+    private static final Map<FormatterSupportedRules, byte[]> FORMAT = lru();
+    private static final Map<LintSupportedRules, byte[]> LINT = lru();
+
+    private RuleDocuments() {
+    }
+
+    public static InputStream format(FormatterSupportedRules rules) {
+        return new ByteArrayInputStream(compile(FORMAT, rules, RuleDocuments::formatRules));
+    }
+
+    public static InputStream lint(LintSupportedRules rules) {
+        return new ByteArrayInputStream(compile(LINT, rules, RuleDocuments::lintRules));
+    }
+
+    /**
+     * Compiles a rule set ahead of a batch, so an invalid rule set fails once before any snippet is fetched.
+     */
+    public static void prepare(FormatterSupportedRules rules) {
+        compile(FORMAT, rules, RuleDocuments::formatRules);
+    }
+
+    public static void prepare(LintSupportedRules rules) {
+        compile(LINT, rules, RuleDocuments::lintRules);
+    }
+
+    /**
+     * The compiled document of either rule type, as the engine sees it, e.g. to fingerprint a rule set. Callers must
+     * not modify the returned array.
+     */
+    public static byte[] document(Record rules) {
+        return switch (rules) {
+            case FormatterSupportedRules format -> compile(FORMAT, format, RuleDocuments::formatRules);
+            case LintSupportedRules lint -> compile(LINT, lint, RuleDocuments::lintRules);
+            default -> throw new IllegalArgumentException("Unsupported rules " + rules);
+        };
+    }
+
+    private static <R> byte[] compile(Map<R, byte[]> documents, R rules,
+            Function<R, Map<String, Object>> toDocument) {
+        synchronized (documents) {
+            byte[] cached = documents.get(rules);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        byte[] json;
+        try {
+            json = MAPPER.writeValueAsBytes(toDocument.apply(rules));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Failed to convert rules " + rules, e);
+        }
+        logger.info("ENGINE RULES JSON => {}", new String(json, StandardCharsets.UTF_8));
+        synchronized (documents) {
+            byte[] raced = documents.putIfAbsent(rules, json);
+            return raced != null ? raced : json;
+        }
+    }
+
+    /**
+     * Access-ordered map that drops its least recently used document past {@code MAX_DOCUMENTS}; callers lock on it.
+     */
+    private static <R> Map<R, byte[]> lru() {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<R, byte[]> eldest) {
+                return size() > MAX_DOCUMENTS;
+            }
+        };
+    }
+
+    private static Map<String, Object> formatRules(FormatterSupportedRules rules) {
+        Map<String, Object> formatterRules = new LinkedHashMap<>();
+        formatterRules.put("enforce-spacing-before-colon-in-declaration", rules.hasPreAscriptionSpace());
+        formatterRules.put("enforce-spacing-after-colon-in-declaration", rules.hasPostAscriptionSpace());
+        formatterRules.put("enforce-spacing-around-equals", rules.isAssignationSpaced());
+        formatterRules.put("enforce-no-spacing-around-equals", !rules.isAssignationSpaced());
+        formatterRules.put("indent-inside-if", rules.indentationInsideConditionals());
+        formatterRules.put("line-breaks-after-println", rules.printlnSeparationLines());
+        formatterRules.put("mandatory-single-space-separation", true);
+        return formatterRules;
+    }
+
+    private static Map<String, Object> lintRules(LintSupportedRules rules) {
+        Map<String, Object> lintRules = new LinkedHashMap<>();
+        lintRules.put("mandatory-variable-or-literal-in-println", rules.mandatoryVariableOrLiteralInPrintln());
+        lintRules.put("mandatory-variable-or-literal-in-readInput", rules.mandatoryVariableOrLiteralInReadInput());
+        if (rules.identifierFormat() != null) {
+            lintRules.put("identifier_format", rules.identifierFormat());
+        }
+        return lintRules;
+    }
+}
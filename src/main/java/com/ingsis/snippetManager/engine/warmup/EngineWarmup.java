@@ -0,0 +1,89 @@
+package com.ingsis.snippetManager.engine.warmup;
+
+import com.ingsis.engine.versions.Version;
+import com.ingsis.snippetManager.engine.EngineAdapter;
+import com.ingsis.snippetManager.engine.LanguageEngineFactory;
+import com.ingsis.snippetManager.engine.supportedLanguage.SupportedLanguage;
+import com.ingsis.snippetManager.engine.supportedRules.FormatterSupportedRules;
+import com.ingsis.snippetManager.engine.supportedRules.LintSupportedRules;
+import jakarta.annotation.PostConstruct;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the bundled snippet corpus through execute, analyze and format while the context starts, so the engine code
+ * paths are already compiled when the first real job arrives. The stream consumers depend on this bean, so they only
+ * subscribe once the warm-up has finished.
+ */
+@Component("engineWarmup")
+public class EngineWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngineWarmup.class);
+    private static final String CORPUS = "classpath:warmup/printscript/*.ps";
+
+    private final LanguageEngineFactory languageEngineFactory;
+    private final boolean enabled;
+    private final int iterations;
+    private final String version;
+
+    public EngineWarmup(LanguageEngineFactory languageEngineFactory,
+            @Value("${engine.warmup.enabled:true}") boolean enabled,
+            @Value("${engine.warmup.iterations:20}") int iterations,
+            @Value("${engine.warmup.version:1.1}") String version) {
+        this.languageEngineFactory = languageEngineFactory;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.version = version;
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<byte[]> corpus = loadCorpus();
+            Version parsedVersion = Version.fromString(version);
+            FormatterSupportedRules formatRules = new FormatterSupportedRules(true, false, 4, true, 1);
+            LintSupportedRules lintRules = new LintSupportedRules(true, true, "camel case");
+
+            EngineAdapter adapter = new EngineAdapter(languageEngineFactory.getEngine(SupportedLanguage.PRINTSCRIPT));
+
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                for (byte[] snippet : corpus) {
+                    adapter.execute(stream(snippet), parsedVersion, List.of(), Map.of());
+                    adapter.analyze(stream(snippet), lintRules, parsedVersion);
+                    adapter.format(stream(snippet), formatRules, parsedVersion);
+                }
+            }
+            logger.info("Engine warm-up ran {} snippets x {} iterations in {} ms", corpus.size(), iterations,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            logger.warn("Engine warm-up failed, continuing with a cold engine", e);
+        }
+    }
+
+    private List<byte[]> loadCorpus() throws Exception {
+        List<byte[]> corpus = new ArrayList<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(CORPUS)) {
+            try (InputStream in = resource.getInputStream()) {
+                corpus.add(in.readAllBytes());
+            }
+        }
+        return corpus;
+    }
+
+    private static InputStream stream(byte[] snippet) {
+        return new ByteArrayInputStream(snippet);
+    }
+}
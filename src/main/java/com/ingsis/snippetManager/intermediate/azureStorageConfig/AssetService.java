@@ -1,35 +1,66 @@
 package com.ingsis.snippetManager.intermediate.azureStorageConfig;
 
+import com.ingsis.snippetManager.metrics.StageMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 
+/**
+ * Client for the snippet bucket. Requests go through a shared {@link HttpClient}, which keeps connections alive and
+ * negotiates HTTP/2 when the bucket supports it, and at most {@code bucket.http.max-concurrency} of them are in flight
+ * at once. The async methods never block the caller; the synchronous ones wait for them.
+ */
 @Component
 public class AssetService {
 
-    private final RestTemplate restTemplate;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final HostConcurrencyLimiter limiter;
+    private final long streamThreshold;
     private final String bucketUrl;
+    private final SnippetContentCache contentCache;
+    private final StageMetrics stageMetrics;
     private static final String CORRELATION_ID_KEY = "correlationId";
     private static final Logger logger = LoggerFactory.getLogger(AssetService.class);
 
     @Autowired
-    public AssetService(@Value("${bucket.url}") String bucketUrl) {
-        this.restTemplate = new RestTemplate();
+    public AssetService(@Value("${bucket.url}") String bucketUrl, SnippetContentCache contentCache,
+            StageMetrics stageMetrics, @Value("${bucket.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${bucket.http.request-timeout:10s}") Duration requestTimeout,
+            @Value("${bucket.http.max-concurrency:32}") int maxConcurrency,
+            @Value("${bucket.stream-threshold:1048576}") long streamThreshold, MeterRegistry meterRegistry) {
+        this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL).build();
+        this.requestTimeout = requestTimeout;
+        this.limiter = new HostConcurrencyLimiter(maxConcurrency);
+        this.streamThreshold = streamThreshold;
         this.bucketUrl = bucketUrl;
+        this.contentCache = contentCache;
+        this.stageMetrics = stageMetrics;
+        Gauge.builder("bucket.http.available", limiter, HostConcurrencyLimiter::available).register(meterRegistry);
+        Gauge.builder("bucket.http.queued", limiter, HostConcurrencyLimiter::queued).register(meterRegistry);
     }
 
     private String buildUrl(UUID key) {
@@ -38,69 +69,143 @@ public class AssetService {
     }
 
     public ResponseEntity<String> getSnippet(UUID snippetId) {
-        try {
-            String url = buildUrl(snippetId);
-            HttpHeaders headers = new HttpHeaders();
-            headers.setAll(getCorrelationHeader());
+        return getSnippetAsync(snippetId).join();
+    }
 
-            HttpEntity<Void> request = new HttpEntity<>(headers);
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, request, String.class);
+    public CompletableFuture<ResponseEntity<String>> getSnippetAsync(UUID snippetId) {
+        return fetchSnippetAsync(snippetId).thenApply(response -> ResponseEntity.status(response.getStatusCode())
+                .body(response.getBody() == null ? null : response.getBody().asString()));
+    }
 
-            return ResponseEntity.status(response.getStatusCode()).body(response.getBody());
-        } catch (HttpClientErrorException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body("Error getting snippet: " + e.getMessage());
+    public ResponseEntity<SnippetBody> fetchSnippet(UUID snippetId) {
+        return fetchSnippetAsync(snippetId).join();
+    }
+
+    /**
+     * Fetches the raw snippet bytes without decoding them. Bodies over {@code bucket.stream-threshold} are handed back
+     * as the open response stream instead of being buffered, and are not cached.
+     */
+    public CompletableFuture<ResponseEntity<SnippetBody>> fetchSnippetAsync(UUID snippetId) {
+        CachedSnippet cached = contentCache.get(snippetId);
+        if (cached != null && contentCache.isFresh(cached)) {
+            contentCache.recordHit();
+            return CompletableFuture.completedFuture(ResponseEntity.ok(new SnippetBody.Buffered(cached.content())));
+        }
+
+        HttpRequest.Builder request = newRequest(buildUrl(snippetId)).GET();
+        if (cached != null && cached.etag() != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, cached.etag());
+        }
+
+        return stageMetrics
+                .timeAsync("bucket.get",
+                        () -> limiter.submit(() -> httpClient.sendAsync(request.build(), this::bodySubscriber)))
+                .thenApply(response -> toSnippet(snippetId, cached, response)).exceptionally(e -> ResponseEntity
+                        .badRequest().body(error("Error getting snippet: " + cause(e).getMessage())));
+    }
+
+    private HttpResponse.BodySubscriber<SnippetBody> bodySubscriber(HttpResponse.ResponseInfo info) {
+        boolean large = info.statusCode() / 100 == 2
+                && info.headers().firstValueAsLong(HttpHeaders.CONTENT_LENGTH).orElse(0) > streamThreshold;
+        if (large) {
+            return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofInputStream(),
+                    SnippetBody.Streamed::new);
+        }
+        return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(),
+                SnippetBody.Buffered::new);
+    }
+
+    private ResponseEntity<SnippetBody> toSnippet(UUID snippetId, CachedSnippet cached,
+            HttpResponse<SnippetBody> response) {
+        if (response.statusCode() == HttpStatus.NOT_MODIFIED.value() && cached != null) {
+            contentCache.recordHit();
+            contentCache.touch(snippetId);
+            return ResponseEntity.ok(new SnippetBody.Buffered(cached.content()));
+        }
+        contentCache.recordMiss();
+        boolean ok = HttpStatusCode.valueOf(response.statusCode()).is2xxSuccessful();
+        if (ok && response.body() instanceof SnippetBody.Buffered buffered) {
+            contentCache.put(snippetId, buffered.bytes(),
+                    response.headers().firstValue(HttpHeaders.ETAG).orElse(null));
+        } else if (ok) {
+            contentCache.invalidate(snippetId);
         }
+        return ResponseEntity.status(response.statusCode()).body(response.body());
+    }
+
+    private static SnippetBody error(String message) {
+        return new SnippetBody.Buffered(message.getBytes(StandardCharsets.UTF_8));
     }
 
     public ResponseEntity<UUID> saveSnippet(UUID snippetId,String content) {
-        try {
-            String url = buildUrl(snippetId);
-            saveSnippet(url, content);
-            return ResponseEntity.ok(snippetId);
-        } catch (HttpClientErrorException e) {
-            logger.info("{}",e.getStatusCode());
-            return ResponseEntity.status(e.getStatusCode()).body(snippetId);
-        } catch (Exception e) {
-            logger.info("{}",e.getMessage());
+        return saveSnippet(snippetId, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public ResponseEntity<UUID> saveSnippet(UUID snippetId, byte[] content) {
+        return saveSnippetAsync(snippetId, content).join();
+    }
+
+    public CompletableFuture<ResponseEntity<UUID>> saveSnippetAsync(UUID snippetId, String content) {
+        return saveSnippetAsync(snippetId, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public CompletableFuture<ResponseEntity<UUID>> saveSnippetAsync(UUID snippetId, byte[] content) {
+        contentCache.invalidate(snippetId);
+        return put(buildUrl(snippetId), content).thenApply(status -> {
+            if (!HttpStatusCode.valueOf(status).is2xxSuccessful()) {
+                logger.info("{}", status);
+            }
+            return ResponseEntity.status(status).body(snippetId);
+        }).exceptionally(e -> {
+            logger.info("{}", cause(e).getMessage());
             return ResponseEntity.badRequest().body(snippetId);
-        }
+        });
     }
 
     public void saveOriginalSnippet(UUID snippetId, UUID formatId) {
         try {
             String url = buildUrl(formatId);
-            ResponseEntity<String> content = getSnippet(snippetId);
-            if(content.getStatusCode().is2xxSuccessful() || content.getBody() == null){
-                return;
+            ResponseEntity<SnippetBody> content = fetchSnippet(snippetId);
+            try (SnippetBody body = content.getBody()) {
+                if (!content.getStatusCode().is2xxSuccessful() || body == null) {
+                    return;
+                }
+                contentCache.invalidate(formatId);
+                int status = put(url, body.readAllBytes()).join();
+                if (!HttpStatusCode.valueOf(status).is2xxSuccessful()) {
+                    logger.info("{}", status);
+                }
             }
-            saveSnippet(url, content.getBody());
-            ResponseEntity.ok(formatId);
-        } catch (HttpClientErrorException e) {
-            logger.info("{}",e.getStatusCode());
-            ResponseEntity.status(e.getStatusCode()).body(formatId);
         } catch (Exception e) {
-            logger.info("{}",e.getMessage());
-            ResponseEntity.badRequest().body(formatId);
+            logger.info("{}", cause(e).getMessage());
         }
     }
 
-    private void saveSnippet(String url, String content) {
-        byte[] bodyBytes = content.getBytes(StandardCharsets.UTF_8);
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-        headers.setAll(getCorrelationHeader());
-        HttpEntity<byte[]> request = new HttpEntity<>(bodyBytes, headers);
-        restTemplate.exchange(url, HttpMethod.PUT, request, Void.class);
+    private CompletableFuture<Integer> put(String url, byte[] content) {
+        HttpRequest request = newRequest(url)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(content)).build();
+        return stageMetrics.timeAsync("bucket.put",
+                () -> limiter.submit(() -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())))
+                .thenApply(HttpResponse::statusCode);
+    }
+
+    private HttpRequest.Builder newRequest(String url) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(requestTimeout);
+        getCorrelationHeader().forEach(builder::header);
+        return builder;
+    }
+
+    private static Throwable cause(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
     }
 
-    private java.util.Map<String, String> getCorrelationHeader() {
-        java.util.Map<String, String> headers = new HashMap<>();
+    private Map<String, String> getCorrelationHeader() {
+        Map<String, String> headers = new HashMap<>();
         String correlationId = MDC.get(CORRELATION_ID_KEY);
         if (Objects.nonNull(correlationId)) {
             headers.put("X-Correlation-Id", correlationId);
         }
         return headers;
     }
-}
\ No newline at end of file
+}
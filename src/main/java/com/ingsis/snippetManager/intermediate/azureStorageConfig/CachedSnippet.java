@@ -0,0 +1,8 @@
+package com.ingsis.snippetManager.intermediate.azureStorageConfig;
+
+public record CachedSnippet(byte[] content, String etag, long fetchedAt) {
+
+    public long sizeInBytes() {
+        return content.length;
+    }
+}
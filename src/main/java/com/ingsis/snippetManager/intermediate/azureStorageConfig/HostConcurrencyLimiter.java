@@ -0,0 +1,67 @@
+package com.ingsis.snippetManager.intermediate.azureStorageConfig;
+
+import com.ingsis.snippetManager.metrics.JobContext;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of requests in flight against one host without blocking the caller. Requests over the cap are
+ * queued and started, in order, as earlier ones complete. A queued request is usually started on the thread that
+ * completed an earlier one, so it carries the {@link JobContext} of the caller that submitted it.
+ */
+class HostConcurrencyLimiter {
+
+    private final Semaphore permits;
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+    HostConcurrencyLimiter(int maxConcurrent) {
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> request) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        waiting.add(JobContext.wrap(() -> start(request, result)));
+        drain();
+        return result;
+    }
+
+    private <T> void start(Supplier<CompletableFuture<T>> request, CompletableFuture<T> result) {
+        CompletableFuture<T> inFlight;
+        try {
+            inFlight = request.get();
+        } catch (RuntimeException e) {
+            inFlight = CompletableFuture.failedFuture(e);
+        }
+        inFlight.whenComplete((value, error) -> {
+            permits.release();
+            drain();
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private void drain() {
+        while (!waiting.isEmpty() && permits.tryAcquire()) {
+            Runnable next = waiting.poll();
+            if (next == null) {
+                permits.release();
+                return;
+            }
+            next.run();
+        }
+    }
+
+    int available() {
+        return permits.availablePermits();
+    }
+
+    int queued() {
+        return waiting.size();
+    }
+}
@@ -0,0 +1,49 @@
+package com.ingsis.snippetManager.intermediate.azureStorageConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Raw contents of a snippet as returned by the bucket. Small snippets arrive {@link Buffered} and are cached; snippets
+ * larger than {@code bucket.stream-threshold} arrive {@link Streamed}, backed by the open response body, and must be
+ * consumed once and closed. Closing a buffered body does nothing, so callers can close every body they do not hand
+ * on, whatever its kind.
+ */
+public sealed interface SnippetBody extends AutoCloseable {
+
+    record Buffered(byte[] bytes) implements SnippetBody {
+    }
+
+    record Streamed(InputStream stream) implements SnippetBody {
+    }
+
+    default byte[] readAllBytes() {
+        return switch (this) {
+            case Buffered buffered -> buffered.bytes();
+            case Streamed streamed -> {
+                try (InputStream in = streamed.stream()) {
+                    yield in.readAllBytes();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    default String asString() {
+        return new String(readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    default void close() {
+        if (this instanceof Streamed streamed) {
+            try {
+                streamed.stream().close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
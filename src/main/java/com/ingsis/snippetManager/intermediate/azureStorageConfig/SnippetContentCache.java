@@ -0,0 +1,98 @@
+package com.ingsis.snippetManager.intermediate.azureStorageConfig;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through cache of snippet contents in front of the bucket. Entries younger than {@code bucket.cache.fresh-for}
+ * are served without a request; older ones are revalidated by {@link AssetService} with their ETag. Eviction is LRU,
+ * bounded by {@code bucket.cache.max-bytes}. Hits, misses and the cached size are exported as
+ * {@code bucket.cache.hits}, {@code bucket.cache.misses} and {@code bucket.cache.bytes}.
+ */
+@Component
+public class SnippetContentCache {
+
+    private final long maxBytes;
+    private final long freshForMillis;
+    private final LinkedHashMap<UUID, CachedSnippet> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long currentBytes;
+
+    public SnippetContentCache(@Value("${bucket.cache.max-bytes:33554432}") long maxBytes,
+            @Value("${bucket.cache.fresh-for:0s}") Duration freshFor, MeterRegistry meterRegistry) {
+        this.maxBytes = maxBytes;
+        this.freshForMillis = freshFor.toMillis();
+        FunctionCounter.builder("bucket.cache.hits", hits, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("bucket.cache.misses", misses, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("bucket.cache.bytes", this, SnippetContentCache::currentBytes).register(meterRegistry);
+    }
+
+    public synchronized CachedSnippet get(UUID snippetId) {
+        return entries.get(snippetId);
+    }
+
+    public boolean isFresh(CachedSnippet snippet) {
+        return System.currentTimeMillis() - snippet.fetchedAt() < freshForMillis;
+    }
+
+    public void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    public void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public synchronized long currentBytes() {
+        return currentBytes;
+    }
+
+    public synchronized void put(UUID snippetId, byte[] content, String etag) {
+        CachedSnippet snippet = new CachedSnippet(content, etag, System.currentTimeMillis());
+        if (snippet.sizeInBytes() > maxBytes) {
+            invalidate(snippetId);
+            return;
+        }
+        CachedSnippet previous = entries.put(snippetId, snippet);
+        if (previous != null) {
+            currentBytes -= previous.sizeInBytes();
+        }
+        currentBytes += snippet.sizeInBytes();
+
+        Iterator<Map.Entry<UUID, CachedSnippet>> it = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && it.hasNext()) {
+            currentBytes -= it.next().getValue().sizeInBytes();
+            it.remove();
+        }
+    }
+
+    public synchronized void touch(UUID snippetId) {
+        entries.computeIfPresent(snippetId,
+                (id, current) -> new CachedSnippet(current.content(), current.etag(), System.currentTimeMillis()));
+    }
+
+    public synchronized void invalidate(UUID snippetId) {
+        CachedSnippet removed = entries.remove(snippetId);
+        if (removed != null) {
+            currentBytes -= removed.sizeInBytes();
+        }
+    }
+}
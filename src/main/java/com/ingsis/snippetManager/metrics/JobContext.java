@@ -0,0 +1,105 @@
+package com.ingsis.snippetManager.metrics;
+
+import com.ingsis.engine.versions.Version;
+import com.ingsis.snippetManager.engine.supportedLanguage.SupportedLanguage;
+
+/**
+ * Per-thread description of the stream job being processed, used to tag stage timers recorded deep in the call stack
+ * (bucket calls, engine calls, status writes) without threading the tags through every signature. Works like the MDC:
+ * the job executor opens it, the consumer fills in language and version once the record is parsed. The version comes
+ * straight from the client, so only values that parse as a {@link Version} are kept as a tag; anything else is tagged
+ * {@code unknown} to keep the tag's cardinality bounded.
+ */
+public final class JobContext implements AutoCloseable {
+
+    private static final ThreadLocal<JobContext> CURRENT = new ThreadLocal<>();
+    private static final JobContext NONE = new JobContext("http", null);
+
+    private final String stream;
+    private final JobContext previous;
+    private String language = "unknown";
+    private String version = "unknown";
+
+    private JobContext(String stream, JobContext previous) {
+        this.stream = stream;
+        this.previous = previous;
+    }
+
+    public static JobContext open(String stream) {
+        JobContext context = new JobContext(stream, CURRENT.get());
+        CURRENT.set(context);
+        return context;
+    }
+
+    public static void describe(SupportedLanguage language, String version) {
+        JobContext context = CURRENT.get();
+        if (context == null) {
+            return;
+        }
+        if (language != null) {
+            context.language = language.name().toLowerCase();
+        }
+        if (version != null) {
+            context.version = normalize(version);
+        }
+    }
+
+    private static String normalize(String version) {
+        try {
+            Version parsed = Version.fromString(version);
+            return parsed == null ? "unknown" : parsed.toString();
+        } catch (RuntimeException e) {
+            return "unknown";
+        }
+    }
+
+    /**
+     * Binds {@code task} to the calling thread's job context, so stages it times on another thread are still tagged
+     * with this job. The thread's own context is restored once the task returns.
+     */
+    public static Runnable wrap(Runnable task) {
+        JobContext captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            JobContext previous = CURRENT.get();
+            CURRENT.set(captured);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    static JobContext current() {
+        JobContext context = CURRENT.get();
+        return context == null ? NONE : context;
+    }
+
+    String stream() {
+        return stream;
+    }
+
+    String language() {
+        return language;
+    }
+
+    String version() {
+        return version;
+    }
+
+    @Override
+    public void close() {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
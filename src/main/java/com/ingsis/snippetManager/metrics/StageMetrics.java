@@ -0,0 +1,74 @@
+package com.ingsis.snippetManager.metrics;
+
+import com.ingsis.snippetManager.engine.supportedLanguage.SupportedLanguage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times the stages of a job (bucket fetch, engine call, status write, result publish) into
+ * {@code engine.job.stage}, tagged with the stage, outcome and the stream, language and version of the current
+ * {@link JobContext}. Requests served over HTTP are tagged {@code stream=http}. Status writes and result publishes are
+ * queued in the {@link com.ingsis.snippetManager.redis.batch.RedisWriteBatcher}, so they are timed until the pipeline
+ * carrying them has been sent, not just until they are enqueued.
+ */
+@Component
+public class StageMetrics {
+
+    private static final String STAGE_TIMER = "engine.job.stage";
+
+    private final MeterRegistry meterRegistry;
+
+    public StageMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T time(String stage, Supplier<T> work) {
+        return time(stage, null, work);
+    }
+
+    /**
+     * Times {@code work} tagged with {@code language} when the caller knows it better than the job context, e.g. an
+     * HTTP request that never opened one.
+     */
+    public <T> T time(String stage, SupportedLanguage language, Supplier<T> work) {
+        JobContext context = JobContext.current();
+        String languageTag = language == null ? context.language() : language.name().toLowerCase();
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = work.get();
+            outcome = "success";
+            return result;
+        } finally {
+            record(stage, context.stream(), languageTag, context.version(), outcome, System.nanoTime() - start);
+        }
+    }
+
+    public void time(String stage, Runnable work) {
+        time(stage, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Times asynchronous work until its future completes. The job context is captured on the calling thread, since
+     * completion usually happens on another one.
+     */
+    public <T> CompletableFuture<T> timeAsync(String stage, Supplier<CompletableFuture<T>> work) {
+        JobContext context = JobContext.current();
+        long start = System.nanoTime();
+        return work.get().whenComplete((result, error) -> record(stage, context.stream(), context.language(),
+                context.version(), error == null ? "success" : "error", System.nanoTime() - start));
+    }
+
+    private void record(String stage, String stream, String language, String version, String outcome, long nanos) {
+        Timer.builder(STAGE_TIMER).tag("stage", stage).tag("stream", stream).tag("language", language)
+                .tag("version", version).tag("outcome", outcome).register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
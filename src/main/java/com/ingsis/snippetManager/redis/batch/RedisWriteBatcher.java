@@ -0,0 +1,216 @@
+package com.ingsis.snippetManager.redis.batch;
+
+import com.ingsis.snippetManager.redis.config.StreamJobExecutorFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind queue for the fire-and-forget Redis writes of a stream job: status SETs, XACKs and result XADDs.
+ * Queued writes are sent in order as a single pipeline once {@code redis.batch.max-size} of them are waiting or
+ * {@code redis.batch.flush-interval} has passed, whichever comes first.
+ *
+ * <p>If a pipeline fails, its writes go back to the head of the queue and are sent again on the next flush, up to
+ * {@code redis.batch.max-attempts} times. After that they are dropped, counted in {@code redis.batch.dropped}, and
+ * the future returned for each of them completes exceptionally. A pipeline is not atomic, so a retried batch may
+ * repeat writes that had already been applied: SETs and XACKs are idempotent, but a result XADD can be delivered twice.
+ * A write that is never acknowledged leaves its record pending, and the record is reclaimed later.
+ *
+ * <p>The final flush runs in a lifecycle phase after the stream job executors have drained (see
+ * {@link StreamJobExecutorFactory#PHASE}); writes enqueued after it are sent straight away.
+ */
+@Component
+public class RedisWriteBatcher implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisWriteBatcher.class);
+
+    private final StringRedisTemplate redis;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final int maxAttempts;
+    private final BlockingDeque<PendingWrite> pending = new LinkedBlockingDeque<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Timer flushTimer;
+    private final Counter dropped;
+    private final ScheduledExecutorService flusher = Executors
+            .newSingleThreadScheduledExecutor(Thread.ofPlatform().name("redis-write-batcher").daemon().factory());
+    private volatile boolean running;
+
+    public RedisWriteBatcher(StringRedisTemplate redis, @Value("${redis.batch.enabled:true}") boolean enabled,
+            @Value("${redis.batch.max-size:64}") int maxBatchSize,
+            @Value("${redis.batch.flush-interval:5ms}") Duration flushInterval,
+            @Value("${redis.batch.max-attempts:3}") int maxAttempts, MeterRegistry meterRegistry) {
+        this.redis = redis;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.flushTimer = Timer.builder("redis.batch.flush").register(meterRegistry);
+        this.dropped = Counter.builder("redis.batch.dropped").register(meterRegistry);
+        Gauge.builder("redis.batch.pending", this, RedisWriteBatcher::pendingWrites).register(meterRegistry);
+        if (enabled) {
+            flusher.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public CompletableFuture<Void> set(String key, String value) {
+        return enqueue(ops -> ops.opsForValue().set(key, value));
+    }
+
+    public CompletableFuture<Void> acknowledge(String stream, String group, RecordId recordId) {
+        return enqueue(ops -> ops.opsForStream().acknowledge(stream, group, recordId));
+    }
+
+    public CompletableFuture<Void> add(ObjectRecord<String, String> record) {
+        return enqueue(ops -> ops.opsForStream().add(record));
+    }
+
+    public int pendingWrites() {
+        return pending.size();
+    }
+
+    /**
+     * Sends everything queued so far. Stops at the first failed pipeline, leaving it queued for the next flush.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+            while (pending.drainTo(batch, maxBatchSize) > 0) {
+                if (!execute(batch)) {
+                    return;
+                }
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(Consumer<RedisOperations<String, String>> write) {
+        PendingWrite pendingWrite = new PendingWrite(write);
+        if (!enabled || flusher.isShutdown()) {
+            try {
+                write.accept(redis);
+                pendingWrite.done().complete(null);
+            } catch (Exception e) {
+                pendingWrite.done().completeExceptionally(e);
+            }
+            return pendingWrite.done();
+        }
+        pending.add(pendingWrite);
+        if (pending.size() >= maxBatchSize) {
+            try {
+                flusher.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                flush();
+            }
+        }
+        return pendingWrite.done();
+    }
+
+    private boolean execute(List<PendingWrite> batch) {
+        Timer.Sample sample = Timer.start();
+        try {
+            redis.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    batch.forEach(write -> write.operation().accept(ops));
+                    return null;
+                }
+            });
+            batch.forEach(write -> write.done().complete(null));
+            return true;
+        } catch (Exception e) {
+            requeue(batch, e);
+            return false;
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    private void requeue(List<PendingWrite> batch, Exception failure) {
+        int dropCount = 0;
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            PendingWrite write = batch.get(i);
+            if (++write.attempts < maxAttempts) {
+                pending.addFirst(write);
+            } else {
+                write.done().completeExceptionally(failure);
+                dropCount++;
+            }
+        }
+        dropped.increment(dropCount);
+        if (dropCount > 0) {
+            logger.error("Dropped {} batched Redis writes after {} attempts", dropCount, maxAttempts, failure);
+        } else {
+            logger.warn("Failed to flush {} batched Redis writes, retrying: {}", batch.size(), failure.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        flusher.shutdown();
+        flush();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return StreamJobExecutorFactory.PHASE - 1;
+    }
+
+    private static final class PendingWrite {
+
+        private final Consumer<RedisOperations<String, String>> operation;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private int attempts;
+
+        private PendingWrite(Consumer<RedisOperations<String, String>> operation) {
+            this.operation = operation;
+        }
+
+        private Consumer<RedisOperations<String, String>> operation() {
+            return operation;
+        }
+
+        private CompletableFuture<Void> done() {
+            return done;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.ingsis.snippetManager.redis.coalesce;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ingsis.snippetManager.engine.cache.ContentHash;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-flight de-duplication of stream jobs per operation and request. Every record is registered with
+ * {@link #offer} as it is read, so the coalescer always knows the newest one per key. The key is the snippet together
+ * with the owner, language, version and rule set of the request: only a request that would produce the same result for
+ * the same reader can replace another. Jobs with the same key run one at a time, and a job that is no longer the newest
+ * when its turn comes is skipped in favour of the one that superseded it.
+ */
+@Component
+public class JobCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobCoalescer.class);
+    private static final List<String> REQUEST_FIELDS = List.of("language", "version", "supportedRules", "rules");
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public JobCoalescer(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public record Ticket(String operation, String key, RecordId recordId) {
+    }
+
+    /**
+     * Registers a record as the newest for its key. Returns {@code null} when the record carries no snippet id, in
+     * which case it is not coalesced.
+     */
+    public Ticket offer(String operation, ObjectRecord<String, String> record) {
+        String key;
+        try {
+            key = key(operation, objectMapper.readTree(record.getValue()));
+        } catch (Exception e) {
+            return null;
+        }
+        if (key == null) {
+            return null;
+        }
+        slots.compute(key, (k, slot) -> {
+            Slot current = slot == null ? new Slot() : slot;
+            current.latest = record.getId();
+            current.outstanding++;
+            return current;
+        });
+        return new Ticket(operation, key, record.getId());
+    }
+
+    /**
+     * Runs {@code job} if the ticket is still the newest for its key once no other job for it is running;
+     * otherwise runs {@code onSuperseded}.
+     */
+    public void run(Ticket ticket, Runnable job, Runnable onSuperseded) {
+        if (ticket == null) {
+            job.run();
+            return;
+        }
+        Slot slot = slots.get(ticket.key());
+        try {
+            if (slot == null || !ticket.recordId().equals(slot.latest)) {
+                supersede(ticket, onSuperseded);
+                return;
+            }
+            slot.lock.lock();
+            try {
+                if (!ticket.recordId().equals(slot.latest)) {
+                    supersede(ticket, onSuperseded);
+                    return;
+                }
+                job.run();
+            } finally {
+                slot.lock.unlock();
+            }
+        } finally {
+            slots.computeIfPresent(ticket.key(), (k, current) -> --current.outstanding == 0 ? null : current);
+        }
+    }
+
+    private static String key(String operation, JsonNode request) {
+        String snippetId = text(request, "snippetId");
+        if (snippetId == null) {
+            return null;
+        }
+        StringBuilder settings = new StringBuilder();
+        REQUEST_FIELDS.forEach(field -> settings.append(field).append('=').append(request.get(field)).append(';'));
+        return operation + ":" + text(request, "ownerId") + ":" + snippetId + ":"
+                + ContentHash.of(settings.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String text(JsonNode request, String field) {
+        JsonNode node = request.get(field);
+        return node == null || node.isNull() ? null : node.asText();
+    }
+
+    private void supersede(Ticket ticket, Runnable onSuperseded) {
+        logger.info("Skipping record {} for {}: superseded by a newer one", ticket.recordId(), ticket.key());
+        Counter.builder("redis.stream.jobs.superseded").tag("operation", ticket.operation()).register(meterRegistry)
+                .increment();
+        onSuperseded.run();
+    }
+
+    private static final class Slot {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile RecordId latest;
+        private int outstanding;
+    }
+}
@@ -0,0 +1,151 @@
+package com.ingsis.snippetManager.redis.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands.XClaimOptions;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redelivers stream records that were read but never acknowledged, for example because {@link StreamJobExecutor}
+ * refused them while its waiting queue was full, or because the instance that read them died. Records idle for at
+ * least {@code redis.consumers.reclaim-idle} are claimed with XCLAIM and handed back to their consumer. XCLAIM only
+ * takes a record that is still idle, so two instances never reclaim the same record at once.
+ *
+ * <p>
+ * A record that has already been delivered {@code redis.consumers.max-deliveries} times is not handed back again:
+ * it is copied to the dead-letter stream (the stream name plus {@code redis.consumers.dead-letter-suffix}),
+ * acknowledged, and counted in {@code redis.stream.dead.lettered}.
+ *
+ * <p>
+ * Records an executor still holds, waiting or running, are never reclaimed. Every
+ * {@code redis.consumers.heartbeat-interval} their pending entries are touched with {@code XCLAIM ... JUSTID}, which
+ * resets the idle time without counting a delivery, so a long job (a bulk record in particular) is not picked up
+ * by another instance while it is still running here. The interval must stay well below the reclaim idle time.
+ */
+@Component
+public class PendingRecordReclaimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PendingRecordReclaimer.class);
+
+    private final StringRedisTemplate template;
+    private final Duration minIdle;
+    private final int batchSize;
+    private final long maxDeliveries;
+    private final String deadLetterSuffix;
+    private final MeterRegistry meterRegistry;
+    private final String consumerName;
+    private final Map<String, Target> targets = new ConcurrentHashMap<>();
+
+    public PendingRecordReclaimer(StringRedisTemplate template,
+            @Value("${redis.consumers.reclaim-idle:5m}") Duration minIdle,
+            @Value("${redis.consumers.reclaim-batch:50}") int batchSize,
+            @Value("${redis.consumers.max-deliveries:5}") long maxDeliveries,
+            @Value("${redis.consumers.dead-letter-suffix:-dead}") String deadLetterSuffix,
+            MeterRegistry meterRegistry) {
+        this.template = template;
+        this.minIdle = minIdle;
+        this.batchSize = batchSize;
+        this.maxDeliveries = maxDeliveries;
+        this.deadLetterSuffix = deadLetterSuffix;
+        this.meterRegistry = meterRegistry;
+        String host = System.getenv("HOSTNAME");
+        this.consumerName = "reclaimer-" + (host == null || host.isBlank() ? "local" : host);
+    }
+
+    public void register(String stream, String group, Consumer<ObjectRecord<String, String>> handler,
+            StreamJobExecutor executor) {
+        Counter deadLettered = Counter.builder("redis.stream.dead.lettered").tag("stream", stream)
+                .register(meterRegistry);
+        targets.put(stream, new Target(group, handler, executor, deadLettered));
+    }
+
+    @Scheduled(fixedDelayString = "${redis.consumers.heartbeat-interval:60000}")
+    public void heartbeat() {
+        targets.forEach((stream, target) -> {
+            List<RecordId> held = target.executor().held();
+            if (held.isEmpty()) {
+                return;
+            }
+            try {
+                XClaimOptions options = XClaimOptions.minIdle(Duration.ZERO).ids(held.toArray(RecordId[]::new));
+                template.execute((RedisCallback<List<RecordId>>) connection -> connection.streamCommands()
+                        .xClaimJustId(stream.getBytes(StandardCharsets.UTF_8), target.group(), consumerName, options));
+            } catch (Exception e) {
+                logger.debug("Could not refresh held entries for {}/{}: {}", stream, target.group(), e.getMessage());
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${redis.consumers.reclaim-interval:30000}")
+    public void reclaim() {
+        targets.forEach((stream, target) -> {
+            try {
+                reclaim(stream, target);
+            } catch (Exception e) {
+                logger.debug("Could not reclaim pending entries for {}/{}: {}", stream, target.group(),
+                        e.getMessage());
+            }
+        });
+    }
+
+    private void reclaim(String stream, Target target) {
+        PendingMessages pending = template.opsForStream().pending(stream, target.group(), Range.unbounded(),
+                batchSize);
+        if (pending == null || pending.isEmpty()) {
+            return;
+        }
+        Map<RecordId, Long> deliveries = pending.stream()
+                .filter(message -> message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0)
+                .filter(message -> !target.executor().holds(message.getId()))
+                .collect(Collectors.toMap(PendingMessage::getId, PendingMessage::getTotalDeliveryCount));
+        if (deliveries.isEmpty()) {
+            return;
+        }
+        List<MapRecord<String, Object, Object>> claimed = template.opsForStream().claim(stream, target.group(),
+                consumerName, minIdle, deliveries.keySet().toArray(RecordId[]::new));
+        if (claimed == null) {
+            return;
+        }
+        logger.info("Reclaimed {} pending record(s) on {}", claimed.size(), stream);
+        for (MapRecord<String, Object, Object> record : claimed) {
+            if (deliveries.getOrDefault(record.getId(), 0L) >= maxDeliveries) {
+                deadLetter(stream, target, record);
+            } else {
+                target.handler().accept(template.opsForStream().map(record, String.class));
+            }
+        }
+    }
+
+    private void deadLetter(String stream, Target target, MapRecord<String, Object, Object> record) {
+        String deadStream = stream + deadLetterSuffix;
+        template.opsForStream().add(StreamRecords.newRecord().in(deadStream).ofMap(record.getValue()));
+        template.opsForStream().acknowledge(stream, target.group(), record.getId());
+        target.deadLettered().increment();
+        logger.warn("Moved record {} on {} to {} after {} deliveries", record.getId(), stream, deadStream,
+                maxDeliveries);
+    }
+
+    private record Target(String group, Consumer<ObjectRecord<String, String>> handler,
+            StreamJobExecutor executor, Counter deadLettered) {
+    }
+}
@@ -1,8 +1,12 @@
 package com.ingsis.snippetManager.redis.config;
 
 import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
@@ -29,6 +33,15 @@ public class RedisInitializer {
     @Value("${redis.streams.testResult}")
     private String testResultStream;
 
+    @Value("${redis.streams.testSuiteRequest}")
+    private String testSuiteRequestStream;
+
+    @Value("${redis.streams.lintBulkRequest}")
+    private String lintBulkRequestStream;
+
+    @Value("${redis.streams.formatBulkRequest}")
+    private String formatBulkRequestStream;
+
     @Value("${redis.groups.lint}")
     private String lintGroup;
 
@@ -44,22 +57,29 @@ public class RedisInitializer {
 
     @PostConstruct
     public void setup() {
-        createStreamAndGroup(lintRequestStream, lintGroup);
-        createStreamAndGroup(lintResultStream, lintGroup);
+        Map<String, String> groupsByStream = new LinkedHashMap<>();
+        groupsByStream.put(lintRequestStream, lintGroup);
+        groupsByStream.put(lintResultStream, lintGroup);
+        groupsByStream.put(lintBulkRequestStream, lintGroup);
+
+        groupsByStream.put(formatRequestStream, formatGroup);
+        groupsByStream.put(formatResultStream, formatGroup);
+        groupsByStream.put(formatBulkRequestStream, formatGroup);
 
-        createStreamAndGroup(formatRequestStream, formatGroup);
-        createStreamAndGroup(formatResultStream, formatGroup);
+        groupsByStream.put(testRequestStream, testGroup);
+        groupsByStream.put(testResultStream, testGroup);
+        groupsByStream.put(testSuiteRequestStream, testGroup);
 
-        createStreamAndGroup(testRequestStream, testGroup);
-        createStreamAndGroup(testResultStream, testGroup);
+        createStreamsAndGroups(groupsByStream);
     }
 
-    private void createStreamAndGroup(String stream, String group) {
+    private void createStreamsAndGroups(Map<String, String> groupsByStream) {
         try {
-            if (!template.hasKey(stream)) {
-                template.opsForStream().add(stream, Map.of("init", "1"));
-            }
-            template.opsForStream().createGroup(stream, group);
+            template.executePipelined((RedisCallback<Object>) connection -> {
+                groupsByStream.forEach((stream, group) -> connection.streamCommands().xGroupCreate(
+                        stream.getBytes(StandardCharsets.UTF_8), group, ReadOffset.latest(), true));
+                return null;
+            });
         } catch (Exception ignored) {
         }
     }
@@ -0,0 +1,65 @@
+package com.ingsis.snippetManager.redis.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Polls XPENDING for every request stream and exports the number of delivered but unacknowledged entries as
+ * {@code redis.stream.pending}, tagged by stream and group.
+ */
+@Component
+public class RedisPendingEntriesMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisPendingEntriesMonitor.class);
+
+    private final StringRedisTemplate template;
+    private final Map<String, String> groupsByStream = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> pendingByStream = new LinkedHashMap<>();
+
+    public RedisPendingEntriesMonitor(StringRedisTemplate template,
+            @Value("${redis.streams.lintRequest}") String lintRequestStream,
+            @Value("${redis.streams.formatRequest}") String formatRequestStream,
+            @Value("${redis.streams.testRequest}") String testRequestStream,
+            @Value("${redis.streams.testSuiteRequest}") String testSuiteRequestStream,
+            @Value("${redis.streams.lintBulkRequest}") String lintBulkRequestStream,
+            @Value("${redis.streams.formatBulkRequest}") String formatBulkRequestStream,
+            @Value("${redis.groups.lint}") String lintGroup, @Value("${redis.groups.format}") String formatGroup,
+            @Value("${redis.groups.test}") String testGroup, MeterRegistry meterRegistry) {
+        this.template = template;
+        groupsByStream.put(lintRequestStream, lintGroup);
+        groupsByStream.put(formatRequestStream, formatGroup);
+        groupsByStream.put(testRequestStream, testGroup);
+        groupsByStream.put(testSuiteRequestStream, testGroup);
+        groupsByStream.put(lintBulkRequestStream, lintGroup);
+        groupsByStream.put(formatBulkRequestStream, formatGroup);
+
+        groupsByStream.forEach((stream, group) -> {
+            AtomicLong pending = new AtomicLong();
+            pendingByStream.put(stream, pending);
+            Gauge.builder("redis.stream.pending", pending, AtomicLong::get).tag("stream", stream).tag("group", group)
+                    .register(meterRegistry);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${redis.metrics.pending-interval:15000}")
+    public void refresh() {
+        groupsByStream.forEach((stream, group) -> {
+            try {
+                PendingMessagesSummary summary = template.opsForStream().pending(stream, group);
+                pendingByStream.get(stream).set(summary == null ? 0 : summary.getTotalPendingMessages());
+            } catch (Exception e) {
+                logger.debug("Could not read pending entries for {}/{}: {}", stream, group, e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,190 @@
+package com.ingsis.snippetManager.redis.config;
+
+import com.ingsis.snippetManager.metrics.JobContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.data.redis.connection.stream.RecordId;
+
+/**
+ * Executor for stream records that runs at most {@code maxInFlight} records at a time. A record that arrives while
+ * every slot is taken waits in memory, up to {@code maxWaiting} of them, and is started as soon as a running job frees
+ * its slot, so {@link #trySubmit} never blocks the listener thread. Only when the waiting queue is full as well is a
+ * record refused; it is then left pending in Redis for {@link PendingRecordReclaimer}.
+ *
+ * <p>
+ * Every record the executor holds, waiting or running, is reported by {@link #held()} so the reclaimer can keep its
+ * pending entry fresh and never hands it to another consumer while it is still being worked on here.
+ */
+public class StreamJobExecutor {
+
+    private final String stream;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final int maxWaiting;
+    private final Queue<Waiting> waiting = new ArrayDeque<>();
+    private final Set<RecordId> held = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Timer jobTimer;
+    private final Counter refused;
+    private final Runnable onJobDone;
+    private int running;
+    private boolean closed;
+
+    public StreamJobExecutor(String stream, ExecutorService executor, int maxInFlight, int maxWaiting,
+            Timer waitTimer, Timer jobTimer, Counter refused, Runnable onJobDone) {
+        this.stream = stream;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.maxWaiting = maxWaiting;
+        this.waitTimer = waitTimer;
+        this.jobTimer = jobTimer;
+        this.refused = refused;
+        this.onJobDone = onJobDone;
+    }
+
+    public boolean trySubmit(RecordId recordId, Runnable job) {
+        return trySubmit(recordId, () -> job);
+    }
+
+    /**
+     * Like {@link #trySubmit(RecordId, Runnable)}, but {@code prepare} only runs once the record gets a slot, in
+     * arrival order, and returns the job to run. Returns {@code false} when the record was refused, or when it is
+     * already held by this executor (e.g. reclaimed while it was still waiting here).
+     */
+    public boolean trySubmit(RecordId recordId, Supplier<Runnable> prepare) {
+        if (!held.add(recordId)) {
+            return false;
+        }
+        Waiting record = new Waiting(recordId, prepare, System.nanoTime());
+        synchronized (waiting) {
+            if (closed) {
+                held.remove(recordId);
+                return false;
+            } else if (waiting.isEmpty() && running < maxInFlight) {
+                running++;
+            } else if (waiting.size() < maxWaiting) {
+                waiting.add(record);
+                return true;
+            } else {
+                held.remove(recordId);
+                refused.increment();
+                return false;
+            }
+        }
+        start(record);
+        return true;
+    }
+
+    private void start(Waiting record) {
+        Runnable job;
+        try {
+            job = record.prepare().get();
+        } catch (RuntimeException e) {
+            finish(record);
+            throw e;
+        }
+        try {
+            executor.submit(() -> run(record, job));
+        } catch (RejectedExecutionException e) {
+            // Shutting down: the record stays pending in Redis and is reclaimed by whichever instance is left.
+            held.remove(record.recordId());
+            synchronized (waiting) {
+                running--;
+            }
+        }
+    }
+
+    private void run(Waiting record, Runnable job) {
+        long startedAt = System.nanoTime();
+        waitTimer.record(startedAt - record.arrivedAt(), TimeUnit.NANOSECONDS);
+        active.incrementAndGet();
+        try (JobContext ignored = JobContext.open(stream)) {
+            job.run();
+        } finally {
+            jobTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            active.decrementAndGet();
+            onJobDone.run();
+            finish(record);
+        }
+    }
+
+    /**
+     * Hands the freed slot straight to the oldest waiting record, if any.
+     */
+    private void finish(Waiting record) {
+        held.remove(record.recordId());
+        Waiting next;
+        synchronized (waiting) {
+            next = waiting.poll();
+            if (next == null) {
+                running--;
+                return;
+            }
+        }
+        start(next);
+    }
+
+    public List<RecordId> held() {
+        return List.copyOf(held);
+    }
+
+    public boolean holds(RecordId recordId) {
+        return held.contains(recordId);
+    }
+
+    public int inFlight() {
+        synchronized (waiting) {
+            return running;
+        }
+    }
+
+    public int active() {
+        return active.get();
+    }
+
+    public int queued() {
+        return Math.max(0, inFlight() - active());
+    }
+
+    public int waiting() {
+        synchronized (waiting) {
+            return waiting.size();
+        }
+    }
+
+    public int maxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Stops taking records and drops the ones still waiting, which stay pending in Redis. Running jobs carry on; see
+     * {@link #awaitTermination(Duration)}.
+     */
+    public void shutdown() {
+        synchronized (waiting) {
+            closed = true;
+            waiting.forEach(record -> held.remove(record.recordId()));
+            waiting.clear();
+        }
+        executor.shutdown();
+    }
+
+    public boolean awaitTermination(Duration timeout) throws InterruptedException {
+        return executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private record Waiting(RecordId recordId, Supplier<Runnable> prepare, long arrivedAt) {
+    }
+}
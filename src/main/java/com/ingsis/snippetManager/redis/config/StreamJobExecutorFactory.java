@@ -0,0 +1,125 @@
+package com.ingsis.snippetManager.redis.config;
+
+import com.ingsis.snippetManager.startup.StartupTimer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the executor each stream consumer hands its records to. By default it is a fixed platform pool; with
+ * {@code redis.consumers.virtual-threads} every record gets its own virtual thread, so bucket and Redis I/O no longer
+ * cap in-flight jobs. The engine calls themselves still run one at a time, see
+ * {@link com.ingsis.snippetManager.engine.runner.RuntimeSession}. Either way at most
+ * {@code redis.consumers.max-in-flight} records per stream run at once and up to {@code redis.consumers.max-waiting}
+ * more wait in memory for a slot; a record beyond that is left pending and counted in
+ * {@code redis.stream.jobs.refused}.
+ *
+ * <p>
+ * On shutdown the factory stops every executor it built and waits up to {@code redis.consumers.drain-timeout} for
+ * their running jobs, before {@link com.ingsis.snippetManager.redis.batch.RedisWriteBatcher} (a later phase) sends its
+ * final flush, so the acknowledgements and results of those jobs are not lost.
+ */
+@Component
+public class StreamJobExecutorFactory implements SmartLifecycle {
+
+    public static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamJobExecutorFactory.class);
+
+    private final boolean virtualThreads;
+    private final int poolSize;
+    private final int maxInFlight;
+    private final int maxWaiting;
+    private final Duration drainTimeout;
+    private final MeterRegistry meterRegistry;
+    private final StartupTimer startupTimer;
+    private final List<StreamJobExecutor> executors = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+
+    public StreamJobExecutorFactory(@Value("${redis.consumers.virtual-threads:false}") boolean virtualThreads,
+            @Value("${redis.consumers.pool-size:10}") int poolSize,
+            @Value("${redis.consumers.max-in-flight:50}") int maxInFlight,
+            @Value("${redis.consumers.max-waiting:500}") int maxWaiting,
+            @Value("${redis.consumers.drain-timeout:30s}") Duration drainTimeout, MeterRegistry meterRegistry,
+            StartupTimer startupTimer) {
+        this.virtualThreads = virtualThreads;
+        this.poolSize = poolSize;
+        this.maxInFlight = maxInFlight;
+        this.maxWaiting = maxWaiting;
+        this.drainTimeout = drainTimeout;
+        this.meterRegistry = meterRegistry;
+        this.startupTimer = startupTimer;
+    }
+
+    public StreamJobExecutor create(String stream) {
+        Timer waitTimer = Timer.builder("redis.stream.jobs.wait").tag("stream", stream).register(meterRegistry);
+        Timer jobTimer = Timer.builder("redis.stream.jobs.duration").tag("stream", stream).register(meterRegistry);
+        Counter refused = Counter.builder("redis.stream.jobs.refused").tag("stream", stream).register(meterRegistry);
+        StreamJobExecutor executor = new StreamJobExecutor(stream, newExecutorService(stream), maxInFlight,
+                maxWaiting, waitTimer, jobTimer, refused, startupTimer::recordProcessed);
+        Gauge.builder("redis.stream.jobs.in.flight", executor, StreamJobExecutor::inFlight).tag("stream", stream)
+                .register(meterRegistry);
+        Gauge.builder("redis.stream.jobs.active", executor, StreamJobExecutor::active).tag("stream", stream)
+                .register(meterRegistry);
+        Gauge.builder("redis.stream.jobs.queued", executor, StreamJobExecutor::queued).tag("stream", stream)
+                .register(meterRegistry);
+        Gauge.builder("redis.stream.jobs.waiting", executor, StreamJobExecutor::waiting).tag("stream", stream)
+                .register(meterRegistry);
+        Gauge.builder("redis.stream.jobs.max.in.flight", executor, StreamJobExecutor::maxInFlight)
+                .tag("stream", stream).register(meterRegistry);
+        executors.add(executor);
+        return executor;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        executors.forEach(StreamJobExecutor::shutdown);
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        try {
+            for (StreamJobExecutor executor : executors) {
+                Duration left = Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+                if (!executor.awaitTermination(left)) {
+                    logger.warn("Stream jobs still running after {}; their records stay pending", drainTimeout);
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running = false;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private ExecutorService newExecutorService(String stream) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(stream + "-job-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(poolSize, Thread.ofPlatform().name(stream + "-job-", 0).factory());
+    }
+}
@@ -0,0 +1,10 @@
+package com.ingsis.snippetManager.redis.dto.format;
+
+import com.ingsis.snippetManager.engine.dto.request.FormatTargetDTO;
+import com.ingsis.snippetManager.engine.supportedLanguage.SupportedLanguage;
+import com.ingsis.snippetManager.engine.supportedRules.FormatterSupportedRules;
+import java.util.List;
+
+public record BulkFormatRequestEvent(String ownerId, List<FormatTargetDTO> snippets, SupportedLanguage language,
+        String version, FormatterSupportedRules rules) {
+}
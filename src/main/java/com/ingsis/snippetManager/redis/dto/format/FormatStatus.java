@@ -1,5 +1,5 @@
 package com.ingsis.snippetManager.redis.dto.format;
 
 public enum FormatStatus {
-    PASSED, FAILED, PENDING
+    PASSED, FAILED, PENDING, SUPERSEDED
 }
@@ -0,0 +1,10 @@
+package com.ingsis.snippetManager.redis.dto.lint;
+
+import com.ingsis.snippetManager.engine.supportedLanguage.SupportedLanguage;
+import com.ingsis.snippetManager.engine.supportedRules.LintSupportedRules;
+import java.util.List;
+import java.util.UUID;
+
+public record BulkLintRequestEvent(String ownerId, List<UUID> snippetIds, SupportedLanguage language,
+        LintSupportedRules supportedRules, String version) {
+}
@@ -1,6 +1,13 @@
 package com.ingsis.snippetManager.redis.dto.lint;
 
+import com.ingsis.snippetManager.engine.lint.LintDiagnostic;
+import java.util.List;
 import java.util.UUID;
 
-public record LintResultEvent(String userId, UUID snippetId, LintStatus status) {
+public record LintResultEvent(String userId, UUID snippetId, LintStatus status, List<LintDiagnostic> diagnostics,
+        boolean truncated) {
+
+    public LintResultEvent(String userId, UUID snippetId, LintStatus status) {
+        this(userId, snippetId, status, List.of(), false);
+    }
 }
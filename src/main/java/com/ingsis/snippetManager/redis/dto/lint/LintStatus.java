@@ -1,5 +1,5 @@
 package com.ingsis.snippetManager.redis.dto.lint;
 
 public enum LintStatus {
-    PASSED, FAILED, PENDING
+    PASSED, FAILED, PENDING, SUPERSEDED
 }
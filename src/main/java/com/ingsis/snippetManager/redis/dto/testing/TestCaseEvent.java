@@ -0,0 +1,8 @@
+package com.ingsis.snippetManager.redis.dto.testing;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public record TestCaseEvent(UUID testId, List<String> inputs, List<String> expectedOutputs, Map<String, String> envs) {
+}
@@ -6,5 +6,10 @@ import java.util.Map;
 import java.util.UUID;
 
 public record TestRequestEvent(String ownerId, UUID testId, UUID snippetId, SupportedLanguage language, String version,
-        List<String> inputs, List<String> expectedOutputs, Map<String, String> envs) {
+        List<String> inputs, List<String> expectedOutputs, Map<String, String> envs, boolean profile) {
+
+    public TestRequestEvent(String ownerId, UUID testId, UUID snippetId, SupportedLanguage language, String version,
+            List<String> inputs, List<String> expectedOutputs, Map<String, String> envs) {
+        this(ownerId, testId, snippetId, language, version, inputs, expectedOutputs, envs, false);
+    }
 }
@@ -1,6 +1,12 @@
 package com.ingsis.snippetManager.redis.dto.testing;
 
+import com.ingsis.snippetManager.engine.runner.ExecutionProfile;
 import java.util.UUID;
 
-public record TestResultEvent(String userId, UUID testId, UUID snippetId, SnippetTestStatus status) {
+public record TestResultEvent(String userId, UUID testId, UUID snippetId, SnippetTestStatus status,
+        ExecutionProfile profile) {
+
+    public TestResultEvent(String userId, UUID testId, UUID snippetId, SnippetTestStatus status) {
+        this(userId, testId, snippetId, status, null);
+    }
 }
@@ -0,0 +1,9 @@
+package com.ingsis.snippetManager.redis.dto.testing;
+
+import com.ingsis.snippetManager.engine.supportedLanguage.SupportedLanguage;
+import java.util.List;
+import java.util.UUID;
+
+public record TestSuiteRequestEvent(String ownerId, UUID snippetId, SupportedLanguage language, String version,
+        List<TestCaseEvent> cases) {
+}
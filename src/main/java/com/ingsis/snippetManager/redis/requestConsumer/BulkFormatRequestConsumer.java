@@ -0,0 +1,90 @@
+package com.ingsis.snippetManager.redis.requestConsumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ingsis.engine.versions.Version;
+import com.ingsis.snippetManager.engine.batch.BulkSnippetService;
+import com.ingsis.snippetManager.engine.dto.request.FormatTargetDTO;
+import com.ingsis.snippetManager.engine.dto.response.BulkFormatResultDTO;
+import com.ingsis.snippetManager.engine.supportedLanguage.SupportedLanguage;
+import com.ingsis.snippetManager.redis.batch.RedisWriteBatcher;
+import com.ingsis.snippetManager.redis.config.PendingRecordReclaimer;
+import com.ingsis.snippetManager.redis.config.StreamJobExecutorFactory;
+import com.ingsis.snippetManager.redis.dto.format.BulkFormatRequestEvent;
+import com.ingsis.snippetManager.redis.dto.format.FormatResultEvent;
+import com.ingsis.snippetManager.redis.dto.format.FormatStatus;
+import com.ingsis.snippetManager.redis.resultProducer.FormatResultProducer;
+import com.ingsis.snippetManager.status.SnippetStatusService;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("!test")
+@DependsOn("engineWarmup")
+public class BulkFormatRequestConsumer extends BulkRequestConsumer<BulkFormatRequestEvent> {
+
+    private final BulkSnippetService bulkService;
+    private final FormatResultProducer formatResultProducer;
+    private final SnippetStatusService snippetStatusService;
+
+    public BulkFormatRequestConsumer(@Value("${redis.streams.formatBulkRequest}") String streamName,
+            @Value("${redis.groups.format}") String groupName, StringRedisTemplate redisTemplate,
+            BulkSnippetService bulkService, FormatResultProducer formatResultProducer, ObjectMapper objectMapper,
+            SnippetStatusService snippetStatusService, StreamJobExecutorFactory executorFactory,
+            PendingRecordReclaimer reclaimer, RedisWriteBatcher writeBatcher) {
+
+        super(streamName, groupName, redisTemplate, BulkFormatRequestEvent.class, "format-bulk", objectMapper,
+                executorFactory, reclaimer, writeBatcher);
+        this.bulkService = bulkService;
+        this.formatResultProducer = formatResultProducer;
+        this.snippetStatusService = snippetStatusService;
+    }
+
+    @Override
+    protected SupportedLanguage language(BulkFormatRequestEvent event) {
+        return event.language();
+    }
+
+    @Override
+    protected String version(BulkFormatRequestEvent event) {
+        return event.version();
+    }
+
+    @Override
+    protected List<UUID> snippetIds(BulkFormatRequestEvent event) {
+        return event.snippets().stream().map(FormatTargetDTO::snippetId).toList();
+    }
+
+    @Override
+    protected void markPending(UUID snippetId) {
+        snippetStatusService.markFormatPending(snippetId);
+    }
+
+    @Override
+    protected void markFailed(UUID snippetId, String reason) {
+        snippetStatusService.markFormatFailed(snippetId, reason);
+    }
+
+    @Override
+    protected void run(BulkFormatRequestEvent event, Version version) {
+        bulkService.format(event.snippets(), version, event.rules(), event.language(),
+                result -> complete(event.ownerId(), result));
+    }
+
+    private void complete(String ownerId, BulkFormatResultDTO result) {
+        FormatStatus status;
+        if (result.formatted()) {
+            snippetStatusService.markFormatted(result.snippetId());
+            status = FormatStatus.PASSED;
+        } else {
+            snippetStatusService.markFormatFailed(result.snippetId(),
+                    result.failure() != null ? result.failure() : "FORMAT_ERROR");
+            status = FormatStatus.FAILED;
+        }
+        formatResultProducer.publish(new FormatResultEvent(ownerId, result.snippetId(), status));
+    }
+}
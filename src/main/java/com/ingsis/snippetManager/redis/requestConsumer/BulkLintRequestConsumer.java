@@ -0,0 +1,90 @@
+package com.ingsis.snippetManager.redis.requestConsumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ingsis.engine.versions.Version;
+import com.ingsis.snippetManager.engine.batch.BulkSnippetService;
+import com.ingsis.snippetManager.engine.dto.response.BulkLintResultDTO;
+import com.ingsis.snippetManager.engine.supportedLanguage.SupportedLanguage;
+import com.ingsis.snippetManager.redis.batch.RedisWriteBatcher;
+import com.ingsis.snippetManager.redis.config.PendingRecordReclaimer;
+import com.ingsis.snippetManager.redis.config.StreamJobExecutorFactory;
+import com.ingsis.snippetManager.redis.dto.lint.BulkLintRequestEvent;
+import com.ingsis.snippetManager.redis.dto.lint.LintResultEvent;
+import com.ingsis.snippetManager.redis.dto.lint.LintStatus;
+import com.ingsis.snippetManager.redis.resultProducer.LintResultProducer;
+import com.ingsis.snippetManager.status.SnippetStatusService;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("!test")
+@DependsOn("engineWarmup")
+public class BulkLintRequestConsumer extends BulkRequestConsumer<BulkLintRequestEvent> {
+
+    private final BulkSnippetService bulkService;
+    private final LintResultProducer lintResultProducer;
+    private final SnippetStatusService snippetStatusService;
+
+    public BulkLintRequestConsumer(@Value("${redis.streams.lintBulkRequest}") String streamName,
+            @Value("${redis.groups.lint}") String groupName, StringRedisTemplate redisTemplate,
+            BulkSnippetService bulkService, LintResultProducer lintResultProducer, ObjectMapper objectMapper,
+            SnippetStatusService snippetStatusService, StreamJobExecutorFactory executorFactory,
+            PendingRecordReclaimer reclaimer, RedisWriteBatcher writeBatcher) {
+
+        super(streamName, groupName, redisTemplate, BulkLintRequestEvent.class, "lint-bulk", objectMapper,
+                executorFactory, reclaimer, writeBatcher);
+        this.bulkService = bulkService;
+        this.lintResultProducer = lintResultProducer;
+        this.snippetStatusService = snippetStatusService;
+    }
+
+    @Override
+    protected SupportedLanguage language(BulkLintRequestEvent event) {
+        return event.language();
+    }
+
+    @Override
+    protected String version(BulkLintRequestEvent event) {
+        return event.version();
+    }
+
+    @Override
+    protected List<UUID> snippetIds(BulkLintRequestEvent event) {
+        return event.snippetIds();
+    }
+
+    @Override
+    protected void markPending(UUID snippetId) {
+        snippetStatusService.markLintPending(snippetId);
+    }
+
+    @Override
+    protected void markFailed(UUID snippetId, String reason) {
+        snippetStatusService.markLintFailed(snippetId, reason);
+    }
+
+    @Override
+    protected void run(BulkLintRequestEvent event, Version version) {
+        bulkService.lint(event.snippetIds(), version, event.supportedRules(), event.language(),
+                result -> complete(event.ownerId(), result));
+    }
+
+    private void complete(String ownerId, BulkLintResultDTO result) {
+        if (result.failure() != null) {
+            snippetStatusService.markLintFailed(result.snippetId(), result.failure());
+        } else if (result.result().valid()) {
+            snippetStatusService.markLinted(result.snippetId());
+        } else {
+            snippetStatusService.markLintFailed(result.snippetId(), "LINT_ERRORS");
+        }
+
+        LintStatus status = result.result().valid() ? LintStatus.PASSED : LintStatus.FAILED;
+        lintResultProducer.publish(new LintResultEvent(ownerId, result.snippetId(), status,
+                result.result().diagnostics(), result.result().truncated()));
+    }
+}
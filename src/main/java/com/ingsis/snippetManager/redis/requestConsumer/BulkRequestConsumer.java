@@ -0,0 +1,101 @@
+package com.ingsis.snippetManager.redis.requestConsumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ingsis.engine.versions.Version;
+import com.ingsis.snippetManager.engine.supportedLanguage.SupportedLanguage;
+import com.ingsis.snippetManager.metrics.JobContext;
+import com.ingsis.snippetManager.redis.batch.RedisWriteBatcher;
+import com.ingsis.snippetManager.redis.config.PendingRecordReclaimer;
+import com.ingsis.snippetManager.redis.config.StreamJobExecutor;
+import com.ingsis.snippetManager.redis.config.StreamJobExecutorFactory;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import org.austral.ingsis.redis.RedisStreamConsumer;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamReceiver;
+
+/**
+ * Shared flow of the bulk consumers: read the request, mark every snippet pending, run the bulk and acknowledge the
+ * record once every snippet is done. Subclasses publish each snippet's result as it completes. A bulk can run far
+ * longer than {@code redis.consumers.reclaim-idle}; its pending entry is kept fresh by
+ * {@link PendingRecordReclaimer#heartbeat()} while it runs, so it is never redelivered to a second consumer.
+ */
+public abstract class BulkRequestConsumer<E> extends RedisStreamConsumer<String> {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkRequestConsumer.class);
+
+    private final Class<E> eventType;
+    private final String label;
+    private final ObjectMapper objectMapper;
+    private final StreamJobExecutor executor;
+    private final RedisWriteBatcher writeBatcher;
+
+    protected BulkRequestConsumer(String streamName, String groupName, StringRedisTemplate redisTemplate,
+            Class<E> eventType, String operation, ObjectMapper objectMapper,
+            StreamJobExecutorFactory executorFactory, PendingRecordReclaimer reclaimer,
+            RedisWriteBatcher writeBatcher) {
+
+        super(streamName, groupName, redisTemplate);
+        this.eventType = eventType;
+        this.label = operation.toUpperCase(Locale.ROOT);
+        this.objectMapper = objectMapper;
+        this.executor = executorFactory.create(operation);
+        this.writeBatcher = writeBatcher;
+        reclaimer.register(streamName, groupName, this::onMessage, executor);
+    }
+
+    @Override
+    public void onMessage(@NotNull ObjectRecord<String, String> record) {
+        executor.trySubmit(record.getId(), () -> process(record));
+    }
+
+    private void process(ObjectRecord<String, String> record) {
+        E event = null;
+        try {
+            event = objectMapper.readValue(record.getValue(), eventType);
+            JobContext.describe(language(event), version(event));
+
+            List<UUID> snippetIds = snippetIds(event);
+            logger.info("[{}] Processing {} snippets", label, snippetIds.size());
+
+            snippetIds.forEach(this::markPending);
+
+            run(event, Version.fromString(version(event)));
+
+            writeBatcher.acknowledge(getStreamKey(), getGroupId(), record.getId());
+        } catch (Exception e) {
+            logger.error("[{}] Fatal error processing record", label, e);
+
+            if (event != null) {
+                String reason = "EXCEPTION: " + e.getClass().getSimpleName();
+                snippetIds(event).forEach(snippetId -> markFailed(snippetId, reason));
+            }
+        }
+    }
+
+    protected abstract SupportedLanguage language(E event);
+
+    protected abstract String version(E event);
+
+    protected abstract List<UUID> snippetIds(E event);
+
+    protected abstract void markPending(UUID snippetId);
+
+    protected abstract void markFailed(UUID snippetId, String reason);
+
+    /**
+     * Runs the whole bulk, publishing each snippet's result as soon as it completes.
+     */
+    protected abstract void run(E event, Version version);
+
+    @Override
+    public @NotNull StreamReceiver.StreamReceiverOptions<String, ObjectRecord<String, String>> options() {
+        return StreamReceiver.StreamReceiverOptions.builder().pollTimeout(java.time.Duration.ofSeconds(10))
+                .targetType(String.class).build();
+    }
+}
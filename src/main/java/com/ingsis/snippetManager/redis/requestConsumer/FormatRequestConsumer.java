@@ -3,21 +3,25 @@ package com.ingsis.snippetManager.redis.requestConsumer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ingsis.engine.versions.Version;
 import com.ingsis.snippetManager.engine.SnippetRunnerService;
+import com.ingsis.snippetManager.metrics.JobContext;
+import com.ingsis.snippetManager.redis.batch.RedisWriteBatcher;
+import com.ingsis.snippetManager.redis.coalesce.JobCoalescer;
+import com.ingsis.snippetManager.redis.config.PendingRecordReclaimer;
+import com.ingsis.snippetManager.redis.config.StreamJobExecutor;
+import com.ingsis.snippetManager.redis.config.StreamJobExecutorFactory;
 import com.ingsis.snippetManager.redis.dto.format.FormatRequestEvent;
 import com.ingsis.snippetManager.redis.dto.format.FormatResultEvent;
 import com.ingsis.snippetManager.redis.dto.format.FormatStatus;
 import com.ingsis.snippetManager.redis.resultProducer.FormatResultProducer;
 import com.ingsis.snippetManager.status.SnippetStatusService;
 import com.ingsis.utils.result.Result;
-import jakarta.annotation.PreDestroy;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import org.austral.ingsis.redis.RedisStreamConsumer;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.connection.stream.ObjectRecord;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -27,6 +31,7 @@ import org.springframework.stereotype.Component;
 
 @Component
 @Profile("!test")
+@DependsOn("engineWarmup")
 public class FormatRequestConsumer extends RedisStreamConsumer<String> {
 
     private static final Logger logger = LoggerFactory.getLogger(FormatRequestConsumer.class);
@@ -34,17 +39,22 @@ public class FormatRequestConsumer extends RedisStreamConsumer<String> {
     private final FormatResultProducer formatResultProducer;
     private final SnippetStatusService snippetStatusService;
     private final ObjectMapper objectMapper;
-    private final ExecutorService executor = Executors.newFixedThreadPool(10);
+    private final StreamJobExecutor executor;
     private final SnippetRunnerService service;
-    private final StringRedisTemplate redisTemplate;
+    private final RedisWriteBatcher writeBatcher;
+    private final JobCoalescer coalescer;
 
     public FormatRequestConsumer(@Value("${redis.streams.formatRequest}") String streamName,
             @Value("${redis.groups.format}") String groupName, StringRedisTemplate redisTemplate,
             FormatResultProducer formatResultProducer, ObjectMapper objectMapper, SnippetRunnerService service,
-            SnippetStatusService snippetStatusService) {
+            SnippetStatusService snippetStatusService, StreamJobExecutorFactory executorFactory,
+            PendingRecordReclaimer reclaimer, RedisWriteBatcher writeBatcher, JobCoalescer coalescer) {
 
         super(streamName, groupName, redisTemplate);
-        this.redisTemplate = redisTemplate;
+        this.executor = executorFactory.create("format");
+        reclaimer.register(streamName, groupName, this::onMessage, executor);
+        this.writeBatcher = writeBatcher;
+        this.coalescer = coalescer;
         this.formatResultProducer = formatResultProducer;
         this.objectMapper = objectMapper;
         this.service = service;
@@ -53,62 +63,65 @@ public class FormatRequestConsumer extends RedisStreamConsumer<String> {
 
     @Override
     public void onMessage(@NotNull ObjectRecord<String, String> record) {
-        executor.submit(() -> {
-            FormatRequestEvent event = null;
+        executor.trySubmit(record.getId(), () -> {
+            JobCoalescer.Ticket ticket = coalescer.offer("format", record);
+            return () -> coalescer.run(ticket, () -> process(record), () -> supersede(record));
+        });
+    }
 
-            try {
-                event = objectMapper.readValue(record.getValue(), FormatRequestEvent.class);
+    private void process(ObjectRecord<String, String> record) {
+        FormatRequestEvent event = null;
 
-                UUID snippetId = event.snippetId();
-                String ownerId = event.ownerId();
+        try {
+            event = objectMapper.readValue(record.getValue(), FormatRequestEvent.class);
+            JobContext.describe(event.language(), event.version());
 
-                logger.info("[FORMAT] Processing Snippet({})", snippetId);
+            UUID snippetId = event.snippetId();
+            String ownerId = event.ownerId();
 
-                snippetStatusService.markFormatPending(snippetId);
+            logger.info("[FORMAT] Processing Snippet({})", snippetId);
 
-                Version version = Version.fromString(event.version());
+            snippetStatusService.markFormatPending(snippetId);
 
-                Result<UUID> formatted = service.format(snippetId,event.formatId(), version, event.rules(), event.language());
+            Version version = Version.fromString(event.version());
 
-                FormatStatus finalStatus;
+            Result<UUID> formatted = service.format(snippetId, event.formatId(), version, event.rules(),
+                    event.language());
 
-                if (formatted.isCorrect()) {
-                    snippetStatusService.markFormatted(snippetId);
-                    finalStatus = FormatStatus.PASSED;
-                } else {
-                    snippetStatusService.markFormatFailed(snippetId, "FORMAT_ERROR");
-                    finalStatus = FormatStatus.FAILED;
-                }
-                redisTemplate.opsForStream().acknowledge(getStreamKey(), getGroupId(), record.getId());
-                publishWithRetry(ownerId, snippetId, finalStatus);
+            FormatStatus finalStatus;
 
-            } catch (Exception e) {
-                logger.error("[FORMAT] Fatal error processing record", e);
+            if (formatted.isCorrect()) {
+                snippetStatusService.markFormatted(snippetId);
+                finalStatus = FormatStatus.PASSED;
+            } else {
+                snippetStatusService.markFormatFailed(snippetId, "FORMAT_ERROR");
+                finalStatus = FormatStatus.FAILED;
+            }
+            writeBatcher.acknowledge(getStreamKey(), getGroupId(), record.getId());
+            publish(ownerId, snippetId, finalStatus);
 
-                if (event != null) {
-                    snippetStatusService.markFormatFailed(event.snippetId(),
-                            "EXCEPTION: " + e.getClass().getSimpleName());
-                }
+        } catch (Exception e) {
+            logger.error("[FORMAT] Fatal error processing record", e);
+
+            if (event != null) {
+                snippetStatusService.markFormatFailed(event.snippetId(),
+                        "EXCEPTION: " + e.getClass().getSimpleName());
             }
-        });
+        }
     }
 
-    private void publishWithRetry(String ownerId, UUID snippetId, FormatStatus status) {
-        for (int i = 1; i <= 3; i++) {
-            try {
-                formatResultProducer.publish(new FormatResultEvent(ownerId, snippetId, status));
-                return;
-            } catch (Exception e) {
-                logger.warn("[FORMAT] Publish retry {} failed for Snippet({})", i, snippetId);
-
-                try {
-                    Thread.sleep(1000L * i);
-                } catch (InterruptedException ignored) {
-                }
-            }
+    private void supersede(ObjectRecord<String, String> record) {
+        try {
+            FormatRequestEvent event = objectMapper.readValue(record.getValue(), FormatRequestEvent.class);
+            writeBatcher.acknowledge(getStreamKey(), getGroupId(), record.getId());
+            publish(event.ownerId(), event.snippetId(), FormatStatus.SUPERSEDED);
+        } catch (Exception e) {
+            logger.error("[FORMAT] Failed to skip superseded record", e);
         }
+    }
 
-        logger.error("[FORMAT] Result publish FAILED after 3 retries for Snippet({})", snippetId);
+    private void publish(String ownerId, UUID snippetId, FormatStatus status) {
+        formatResultProducer.publish(new FormatResultEvent(ownerId, snippetId, status));
     }
 
     @Override
@@ -116,9 +129,4 @@ public class FormatRequestConsumer extends RedisStreamConsumer<String> {
         return StreamReceiver.StreamReceiverOptions.builder().pollTimeout(java.time.Duration.ofSeconds(10))
                 .targetType(String.class).build();
     }
-
-    @PreDestroy
-    public void shutdown() {
-        executor.shutdown();
-    }
 }
@@ -3,21 +3,25 @@ package com.ingsis.snippetManager.redis.requestConsumer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ingsis.engine.versions.Version;
 import com.ingsis.snippetManager.engine.SnippetRunnerService;
+import com.ingsis.snippetManager.engine.lint.LintReport;
+import com.ingsis.snippetManager.metrics.JobContext;
+import com.ingsis.snippetManager.redis.batch.RedisWriteBatcher;
+import com.ingsis.snippetManager.redis.coalesce.JobCoalescer;
+import com.ingsis.snippetManager.redis.config.PendingRecordReclaimer;
+import com.ingsis.snippetManager.redis.config.StreamJobExecutor;
+import com.ingsis.snippetManager.redis.config.StreamJobExecutorFactory;
 import com.ingsis.snippetManager.redis.dto.lint.LintRequestEvent;
 import com.ingsis.snippetManager.redis.dto.lint.LintResultEvent;
 import com.ingsis.snippetManager.redis.dto.lint.LintStatus;
 import com.ingsis.snippetManager.redis.resultProducer.LintResultProducer;
 import com.ingsis.snippetManager.status.SnippetStatusService;
-import com.ingsis.utils.result.Result;
-import jakarta.annotation.PreDestroy;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import org.austral.ingsis.redis.RedisStreamConsumer;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.connection.stream.ObjectRecord;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -27,6 +31,7 @@ import org.springframework.stereotype.Component;
 
 @Component
 @Profile("!test")
+@DependsOn("engineWarmup")
 public class LintRequestConsumer extends RedisStreamConsumer<String> {
 
     private static final Logger logger = LoggerFactory.getLogger(LintRequestConsumer.class);
@@ -35,17 +40,22 @@ public class LintRequestConsumer extends RedisStreamConsumer<String> {
     private final LintResultProducer lintResultProducer;
     private final SnippetStatusService snippetStatusService;
     private final ObjectMapper objectMapper;
-    private final ExecutorService executor = Executors.newFixedThreadPool(10);
-    private final StringRedisTemplate redisTemplate;
+    private final StreamJobExecutor executor;
+    private final RedisWriteBatcher writeBatcher;
+    private final JobCoalescer coalescer;
 
     public LintRequestConsumer(@Value("${redis.streams.lintRequest}") String streamName,
             @Value("${redis.groups.lint}") String groupName, StringRedisTemplate redisTemplate,
             SnippetRunnerService lintingService, LintResultProducer lintResultProducer, ObjectMapper objectMapper,
-            SnippetStatusService snippetStatusService) {
+            SnippetStatusService snippetStatusService, StreamJobExecutorFactory executorFactory,
+            PendingRecordReclaimer reclaimer, RedisWriteBatcher writeBatcher, JobCoalescer coalescer) {
 
         super(streamName, groupName, redisTemplate);
+        this.executor = executorFactory.create("lint");
+        reclaimer.register(streamName, groupName, this::onMessage, executor);
         this.service = lintingService;
-        this.redisTemplate = redisTemplate;
+        this.writeBatcher = writeBatcher;
+        this.coalescer = coalescer;
         this.lintResultProducer = lintResultProducer;
         this.objectMapper = objectMapper;
         this.snippetStatusService = snippetStatusService;
@@ -53,57 +63,61 @@ public class LintRequestConsumer extends RedisStreamConsumer<String> {
 
     @Override
     public void onMessage(@NotNull ObjectRecord<String, String> record) {
-        executor.submit(() -> {
-            LintRequestEvent event = null;
-            try {
-                event = objectMapper.readValue(record.getValue(), LintRequestEvent.class);
+        executor.trySubmit(record.getId(), () -> {
+            JobCoalescer.Ticket ticket = coalescer.offer("lint", record);
+            return () -> coalescer.run(ticket, () -> process(record), () -> supersede(record));
+        });
+    }
+
+    private void process(ObjectRecord<String, String> record) {
+        LintRequestEvent event = null;
+        try {
+            event = objectMapper.readValue(record.getValue(), LintRequestEvent.class);
+            JobContext.describe(event.language(), event.version());
 
-                UUID snippetId = event.snippetId();
-                String ownerId = event.ownerId();
+            UUID snippetId = event.snippetId();
+            String ownerId = event.ownerId();
 
-                logger.info("[LINT] Processing Snippet({})", snippetId);
+            logger.info("[LINT] Processing Snippet({})", snippetId);
 
-                snippetStatusService.markLintPending(snippetId);
+            snippetStatusService.markLintPending(snippetId);
 
-                Version version = Version.fromString(event.version());
+            Version version = Version.fromString(event.version());
 
-                Result<String> response = service.analyze(snippetId, version, event.supportedRules(), event.language());
+            LintReport report = service.lint(snippetId, version, event.supportedRules(), event.language());
 
-                if (response.isCorrect()) {
-                    snippetStatusService.markLinted(snippetId);
-                } else {
-                    snippetStatusService.markLintFailed(snippetId, "LINT_ERRORS");
-                }
+            if (report.passed()) {
+                snippetStatusService.markLinted(snippetId);
+            } else {
+                snippetStatusService.markLintFailed(snippetId, "LINT_ERRORS");
+            }
 
-                LintStatus finalStatus = response.isCorrect() ? LintStatus.PASSED : LintStatus.FAILED;
-                redisTemplate.opsForStream().acknowledge(getStreamKey(), getGroupId(), record.getId());
-                publishWithRetry(ownerId, snippetId, finalStatus);
-            } catch (Exception e) {
-                logger.error("[LINT] Fatal error processing record", e);
+            LintStatus finalStatus = report.passed() ? LintStatus.PASSED : LintStatus.FAILED;
+            writeBatcher.acknowledge(getStreamKey(), getGroupId(), record.getId());
+            publish(new LintResultEvent(ownerId, snippetId, finalStatus, report.diagnostics(),
+                    report.truncated()));
+        } catch (Exception e) {
+            logger.error("[LINT] Fatal error processing record", e);
 
-                if (event != null) {
-                    snippetStatusService.markLintFailed(event.snippetId(),
-                            "EXCEPTION: " + e.getClass().getSimpleName());
-                }
+            if (event != null) {
+                snippetStatusService.markLintFailed(event.snippetId(),
+                        "EXCEPTION: " + e.getClass().getSimpleName());
             }
-        });
+        }
     }
 
-    private void publishWithRetry(String ownerId, UUID snippetId, LintStatus status) {
-        for (int i = 1; i <= 3; i++) {
-            try {
-                lintResultProducer.publish(new LintResultEvent(ownerId, snippetId, status));
-                return;
-            } catch (Exception e) {
-                logger.warn("[LINT] Publish retry {} failed for Snippet({})", i, snippetId);
-
-                try {
-                    Thread.sleep(1000L * i);
-                } catch (InterruptedException ignored) {
-                }
-            }
+    private void supersede(ObjectRecord<String, String> record) {
+        try {
+            LintRequestEvent event = objectMapper.readValue(record.getValue(), LintRequestEvent.class);
+            writeBatcher.acknowledge(getStreamKey(), getGroupId(), record.getId());
+            publish(new LintResultEvent(event.ownerId(), event.snippetId(), LintStatus.SUPERSEDED));
+        } catch (Exception e) {
+            logger.error("[LINT] Failed to skip superseded record", e);
         }
-        logger.error("[LINT] Result publish FAILED after 3 retries for Snippet({})", snippetId);
+    }
+
+    private void publish(LintResultEvent event) {
+        lintResultProducer.publish(event);
     }
 
     @Override
@@ -111,9 +125,4 @@ public class LintRequestConsumer extends RedisStreamConsumer<String> {
         return StreamReceiver.StreamReceiverOptions.builder().pollTimeout(java.time.Duration.ofSeconds(10))
                 .targetType(String.class).build();
     }
-
-    @PreDestroy
-    public void shutdown() {
-        executor.shutdown();
-    }
 }
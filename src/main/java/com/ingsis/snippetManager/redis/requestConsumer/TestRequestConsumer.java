@@ -4,20 +4,24 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ingsis.snippetManager.engine.SnippetRunnerService;
 import com.ingsis.snippetManager.engine.dto.request.TestRequestDTO;
 import com.ingsis.snippetManager.engine.dto.response.TestResponseDTO;
+import com.ingsis.snippetManager.engine.runner.ExecutionProfile;
+import com.ingsis.snippetManager.metrics.JobContext;
+import com.ingsis.snippetManager.redis.batch.RedisWriteBatcher;
+import com.ingsis.snippetManager.redis.config.PendingRecordReclaimer;
+import com.ingsis.snippetManager.redis.config.StreamJobExecutor;
+import com.ingsis.snippetManager.redis.config.StreamJobExecutorFactory;
 import com.ingsis.snippetManager.redis.dto.testing.SnippetTestStatus;
 import com.ingsis.snippetManager.redis.dto.testing.TestRequestEvent;
 import com.ingsis.snippetManager.redis.dto.testing.TestResultEvent;
 import com.ingsis.snippetManager.redis.resultProducer.TestResultProducer;
 import com.ingsis.snippetManager.status.SnippetStatusService;
-import jakarta.annotation.PreDestroy;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import org.austral.ingsis.redis.RedisStreamConsumer;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.connection.stream.ObjectRecord;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -27,6 +31,7 @@ import org.springframework.stereotype.Component;
 
 @Component
 @Profile("!test")
+@DependsOn("engineWarmup")
 public class TestRequestConsumer extends RedisStreamConsumer<String> {
 
     private static final Logger logger = LoggerFactory.getLogger(TestRequestConsumer.class);
@@ -35,15 +40,18 @@ public class TestRequestConsumer extends RedisStreamConsumer<String> {
     private final TestResultProducer runResultProducer;
     private final SnippetStatusService snippetStatusService;
     private final ObjectMapper objectMapper;
-    private final ExecutorService executor = Executors.newFixedThreadPool(10);
-    private final StringRedisTemplate redisTemplate;
+    private final StreamJobExecutor executor;
+    private final RedisWriteBatcher writeBatcher;
 
     public TestRequestConsumer(@Value("${redis.streams.testRequest}") String streamName,
             @Value("${redis.groups.test}") String groupName, StringRedisTemplate redisTemplate,
             SnippetRunnerService service, TestResultProducer runResultProducer, ObjectMapper objectMapper,
-            SnippetStatusService snippetStatusService) {
+            SnippetStatusService snippetStatusService, StreamJobExecutorFactory executorFactory,
+            PendingRecordReclaimer reclaimer, RedisWriteBatcher writeBatcher) {
         super(streamName, groupName, redisTemplate);
-        this.redisTemplate = redisTemplate;
+        this.executor = executorFactory.create("test");
+        reclaimer.register(streamName, groupName, this::onMessage, executor);
+        this.writeBatcher = writeBatcher;
         this.service = service;
         this.runResultProducer = runResultProducer;
         this.objectMapper = objectMapper;
@@ -52,10 +60,11 @@ public class TestRequestConsumer extends RedisStreamConsumer<String> {
 
     @Override
     public void onMessage(@NotNull ObjectRecord<String, String> record) {
-        executor.submit(() -> {
+        executor.trySubmit(record.getId(), () -> {
             TestRequestEvent event = null;
             try {
                 event = objectMapper.readValue(record.getValue(), TestRequestEvent.class);
+                JobContext.describe(event.language(), event.version());
 
                 UUID snippetId = event.snippetId();
                 UUID testId = event.testId();
@@ -66,7 +75,7 @@ public class TestRequestConsumer extends RedisStreamConsumer<String> {
                 snippetStatusService.markTestPending(snippetId);
 
                 TestRequestDTO dto = new TestRequestDTO(snippetId, event.inputs(), event.expectedOutputs(),
-                        event.language(), event.version(), event.envs());
+                        event.language(), event.version(), event.envs(), event.profile());
 
                 TestResponseDTO result = service.test(dto);
                 boolean stat = result.status().equals(SnippetTestStatus.PASSED);
@@ -78,9 +87,9 @@ public class TestRequestConsumer extends RedisStreamConsumer<String> {
 
                 SnippetTestStatus finalStatus = stat ? SnippetTestStatus.PASSED : SnippetTestStatus.FAILED;
 
-                redisTemplate.opsForStream().acknowledge(getStreamKey(), getGroupId(), record.getId());
+                writeBatcher.acknowledge(getStreamKey(), getGroupId(), record.getId());
 
-                publishWithRetry(ownerId, snippetId, event.testId(), finalStatus);
+                publish(ownerId, snippetId, event.testId(), finalStatus, result.profile());
             } catch (Exception e) {
                 logger.error("[RUN] Fatal error processing record", e);
 
@@ -92,20 +101,9 @@ public class TestRequestConsumer extends RedisStreamConsumer<String> {
         });
     }
 
-    private void publishWithRetry(String ownerId, UUID snippetId, UUID testId, SnippetTestStatus status) {
-        for (int i = 1; i <= 3; i++) {
-            try {
-                runResultProducer.publish(new TestResultEvent(ownerId, testId, snippetId, status));
-                return;
-            } catch (Exception e) {
-                logger.warn("[RUN] Publish retry {} failed for Snippet({})", i, snippetId);
-                try {
-                    Thread.sleep(1000L * i);
-                } catch (InterruptedException ignored) {
-                }
-            }
-        }
-        logger.error("[RUN] Result publish FAILED after 3 retries for Snippet({})", snippetId);
+    private void publish(String ownerId, UUID snippetId, UUID testId, SnippetTestStatus status,
+            ExecutionProfile profile) {
+        runResultProducer.publish(new TestResultEvent(ownerId, testId, snippetId, status, profile));
     }
 
     @Override
@@ -113,9 +111,4 @@ public class TestRequestConsumer extends RedisStreamConsumer<String> {
         return StreamReceiver.StreamReceiverOptions.builder().pollTimeout(java.time.Duration.ofSeconds(10))
                 .targetType(String.class).build();
     }
-
-    @PreDestroy
-    public void shutdown() {
-        executor.shutdown();
-    }
 }
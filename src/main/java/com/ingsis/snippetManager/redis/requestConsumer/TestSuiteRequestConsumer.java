@@ -0,0 +1,113 @@
+package com.ingsis.snippetManager.redis.requestConsumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ingsis.snippetManager.engine.SnippetRunnerService;
+import com.ingsis.snippetManager.engine.dto.request.TestCaseDTO;
+import com.ingsis.snippetManager.engine.dto.request.TestSuiteRequestDTO;
+import com.ingsis.snippetManager.engine.dto.response.TestCaseResultDTO;
+import com.ingsis.snippetManager.engine.dto.response.TestSuiteResponseDTO;
+import com.ingsis.snippetManager.metrics.JobContext;
+import com.ingsis.snippetManager.redis.batch.RedisWriteBatcher;
+import com.ingsis.snippetManager.redis.config.PendingRecordReclaimer;
+import com.ingsis.snippetManager.redis.config.StreamJobExecutor;
+import com.ingsis.snippetManager.redis.config.StreamJobExecutorFactory;
+import com.ingsis.snippetManager.redis.dto.testing.SnippetTestStatus;
+import com.ingsis.snippetManager.redis.dto.testing.TestResultEvent;
+import com.ingsis.snippetManager.redis.dto.testing.TestSuiteRequestEvent;
+import com.ingsis.snippetManager.redis.resultProducer.TestResultProducer;
+import com.ingsis.snippetManager.status.SnippetStatusService;
+import java.util.List;
+import java.util.UUID;
+import org.austral.ingsis.redis.RedisStreamConsumer;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamReceiver;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("!test")
+@DependsOn("engineWarmup")
+public class TestSuiteRequestConsumer extends RedisStreamConsumer<String> {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestSuiteRequestConsumer.class);
+
+    private final SnippetRunnerService service;
+    private final TestResultProducer testResultProducer;
+    private final SnippetStatusService snippetStatusService;
+    private final ObjectMapper objectMapper;
+    private final StreamJobExecutor executor;
+    private final RedisWriteBatcher writeBatcher;
+
+    public TestSuiteRequestConsumer(@Value("${redis.streams.testSuiteRequest}") String streamName,
+            @Value("${redis.groups.test}") String groupName, StringRedisTemplate redisTemplate,
+            SnippetRunnerService service, TestResultProducer testResultProducer, ObjectMapper objectMapper,
+            SnippetStatusService snippetStatusService, StreamJobExecutorFactory executorFactory,
+            PendingRecordReclaimer reclaimer, RedisWriteBatcher writeBatcher) {
+        super(streamName, groupName, redisTemplate);
+        this.executor = executorFactory.create("test-suite");
+        reclaimer.register(streamName, groupName, this::onMessage, executor);
+        this.writeBatcher = writeBatcher;
+        this.service = service;
+        this.testResultProducer = testResultProducer;
+        this.objectMapper = objectMapper;
+        this.snippetStatusService = snippetStatusService;
+    }
+
+    @Override
+    public void onMessage(@NotNull ObjectRecord<String, String> record) {
+        executor.trySubmit(record.getId(), () -> {
+            TestSuiteRequestEvent event = null;
+            try {
+                event = objectMapper.readValue(record.getValue(), TestSuiteRequestEvent.class);
+                JobContext.describe(event.language(), event.version());
+
+                UUID snippetId = event.snippetId();
+                String ownerId = event.ownerId();
+
+                logger.info("[TEST-SUITE] Processing Snippet({}) with {} cases", snippetId, event.cases().size());
+
+                snippetStatusService.markTestPending(snippetId);
+
+                List<TestCaseDTO> cases = event.cases().stream()
+                        .map(c -> new TestCaseDTO(c.testId(), c.inputs(), c.expectedOutputs(), c.envs())).toList();
+                TestSuiteResponseDTO result = service
+                        .testSuite(new TestSuiteRequestDTO(snippetId, event.language(), event.version(), cases));
+
+                if (result.status().equals(SnippetTestStatus.PASSED)) {
+                    snippetStatusService.markTested(snippetId);
+                } else {
+                    snippetStatusService.markTestFailed(snippetId, "TEST_FAILED");
+                }
+
+                writeBatcher.acknowledge(getStreamKey(), getGroupId(), record.getId());
+
+                for (TestCaseResultDTO caseResult : result.results()) {
+                    publish(ownerId, snippetId, caseResult.testId(), caseResult.status());
+                }
+            } catch (Exception e) {
+                logger.error("[TEST-SUITE] Fatal error processing record", e);
+
+                if (event != null) {
+                    snippetStatusService.markTestFailed(event.snippetId(),
+                            "EXCEPTION: " + e.getClass().getSimpleName());
+                }
+            }
+        });
+    }
+
+    private void publish(String ownerId, UUID snippetId, UUID testId, SnippetTestStatus status) {
+        testResultProducer.publish(new TestResultEvent(ownerId, testId, snippetId, status));
+    }
+
+    @Override
+    public @NotNull StreamReceiver.StreamReceiverOptions<String, ObjectRecord<String, String>> options() {
+        return StreamReceiver.StreamReceiverOptions.builder().pollTimeout(java.time.Duration.ofSeconds(10))
+                .targetType(String.class).build();
+    }
+}
@@ -1,13 +1,14 @@
 package com.ingsis.snippetManager.redis.resultProducer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ingsis.snippetManager.metrics.StageMetrics;
+import com.ingsis.snippetManager.redis.batch.RedisWriteBatcher;
 import com.ingsis.snippetManager.redis.dto.lint.LintResultEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.connection.stream.ObjectRecord;
 import org.springframework.data.redis.connection.stream.StreamRecords;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -16,19 +17,21 @@ public class LintResultProducer {
     private static final Logger logger = LoggerFactory.getLogger(LintResultProducer.class);
 
     private final String streamKey;
-    private final StringRedisTemplate redis;
+    private final RedisWriteBatcher writeBatcher;
     private final ObjectMapper objectMapper;
+    private final StageMetrics stageMetrics;
 
-    public LintResultProducer(@Value("${redis.streams.lintResult}") String streamKey, StringRedisTemplate redis,
-            ObjectMapper objectMapper) {
+    public LintResultProducer(@Value("${redis.streams.lintResult}") String streamKey, RedisWriteBatcher writeBatcher,
+            ObjectMapper objectMapper, StageMetrics stageMetrics) {
         this.streamKey = streamKey;
-        this.redis = redis;
+        this.writeBatcher = writeBatcher;
         this.objectMapper = objectMapper;
+        this.stageMetrics = stageMetrics;
     }
 
     public void emit(String jsonMessage) {
         ObjectRecord<String, String> record = StreamRecords.newRecord().ofObject(jsonMessage).withStreamKey(streamKey);
-        redis.opsForStream().add(record);
+        stageMetrics.timeAsync("result.publish", () -> writeBatcher.add(record));
     }
 
     public void publish(LintResultEvent event) {
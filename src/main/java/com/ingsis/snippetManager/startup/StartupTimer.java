@@ -0,0 +1,46 @@
+package com.ingsis.snippetManager.startup;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Measures startup from JVM launch to the application being ready and to the first stream record being processed.
+ * Both values are logged once and exported as gauges so cold-start regressions show up across deploys.
+ */
+@Component
+public class StartupTimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimer.class);
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final AtomicLong readyMillis = new AtomicLong(-1);
+    private final AtomicLong firstRecordMillis = new AtomicLong(-1);
+
+    public StartupTimer(MeterRegistry meterRegistry) {
+        Gauge.builder("engine.startup.ready.ms", readyMillis, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("engine.startup.first.record.ms", firstRecordMillis, AtomicLong::get).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        readyMillis.set(System.currentTimeMillis() - jvmStartMillis);
+        logger.info("Engine service ready {} ms after JVM start", readyMillis.get());
+    }
+
+    public void recordProcessed() {
+        if (firstRecordMillis.get() >= 0) {
+            return;
+        }
+        long elapsed = System.currentTimeMillis() - jvmStartMillis;
+        if (firstRecordMillis.compareAndSet(-1, elapsed)) {
+            logger.info("First stream record processed {} ms after JVM start", elapsed);
+        }
+    }
+}
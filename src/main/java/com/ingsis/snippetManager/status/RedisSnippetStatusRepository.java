@@ -1,5 +1,7 @@
 package com.ingsis.snippetManager.status;
 
+import com.ingsis.snippetManager.metrics.StageMetrics;
+import com.ingsis.snippetManager.redis.batch.RedisWriteBatcher;
 import com.ingsis.snippetManager.redis.dto.format.FormatStatus;
 import com.ingsis.snippetManager.redis.dto.lint.LintStatus;
 import com.ingsis.snippetManager.redis.dto.testing.SnippetTestStatus;
@@ -17,27 +19,39 @@ public class RedisSnippetStatusRepository {
     private static final String PREFIX = "snippet:format:status:";
 
     private final StringRedisTemplate redis;
+    private final RedisWriteBatcher writeBatcher;
+    private final StageMetrics stageMetrics;
 
-    public RedisSnippetStatusRepository(StringRedisTemplate redis) {
+    public RedisSnippetStatusRepository(StringRedisTemplate redis, RedisWriteBatcher writeBatcher,
+            StageMetrics stageMetrics) {
         this.redis = redis;
+        this.writeBatcher = writeBatcher;
+        this.stageMetrics = stageMetrics;
     }
 
     public void save(UUID snippetId, FormatStatus status) {
-        redis.opsForValue().set(PREFIX + snippetId, status.name());
+        stageMetrics.timeAsync("status.write", () -> writeBatcher.set(PREFIX + snippetId, status.name()));
     }
     public void save(UUID snippetId, LintStatus status) {
-        redis.opsForValue().set(PREFIX + snippetId, status.name());
+        stageMetrics.timeAsync("status.write", () -> writeBatcher.set(PREFIX + snippetId, status.name()));
     }
     public void save(UUID snippetId, SnippetTestStatus status) {
-        redis.opsForValue().set(PREFIX + snippetId, status.name());
+        stageMetrics.timeAsync("status.write", () -> writeBatcher.set(PREFIX + snippetId, status.name()));
     }
 
+    /**
+     * Status writes go through the {@link RedisWriteBatcher}, so the queue is flushed first; otherwise a read could
+     * miss a status this instance saved moments ago. Writes queued on other instances can still be a flush interval
+     * behind.
+     */
     public Optional<FormatStatus> find(UUID snippetId) {
+        writeBatcher.flush();
         String value = redis.opsForValue().get(PREFIX + snippetId);
         return value == null ? Optional.empty() : Optional.of(FormatStatus.valueOf(value));
     }
 
     public Map<UUID, FormatStatus> findAll() {
+        writeBatcher.flush();
         Set<String> keys = redis.keys(PREFIX + "*");
         Map<UUID, FormatStatus> result = new HashMap<>();
 
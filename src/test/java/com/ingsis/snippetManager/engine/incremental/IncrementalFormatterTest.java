@@ -0,0 +1,107 @@
+package com.ingsis.snippetManager.engine.incremental;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.ingsis.engine.versions.Version;
+import com.ingsis.snippetManager.engine.cache.SnippetProgram;
+import com.ingsis.snippetManager.engine.supportedLanguage.SupportedLanguage;
+import com.ingsis.snippetManager.engine.supportedRules.FormatterSupportedRules;
+import com.ingsis.utils.result.CorrectResult;
+import com.ingsis.utils.result.Result;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class IncrementalFormatterTest {
+
+    private static final FormatterSupportedRules RULES = new FormatterSupportedRules(true, false, 4, true, 1);
+    private static final Version VERSION = Version.fromString("1.1");
+
+    private final IncrementalFormatter formatter = new IncrementalFormatter(true, 10);
+    private final UUID snippetId = UUID.randomUUID();
+
+    @Test
+    void matchesAFullFormatOnTheFirstRun() {
+        String source = "let a: number = 1;\nprintln(a);\nlet b: number = 2;";
+
+        assertEquals(fullFormat(source), incremental(source));
+    }
+
+    @Test
+    void reformatsTheStatementAfterAChangedOne() {
+        incremental("let a: number = 1;\nprintln(a);\nlet b: number = 2;");
+
+        String edited = "let a: number = 1;\nlet c: number = 3;\nlet b: number = 2;";
+
+        assertEquals(fullFormat(edited), incremental(edited));
+    }
+
+    @Test
+    void reformatsTheStatementAfterARemovedOne() {
+        incremental("let a: number = 1;\nprintln(a);\nlet b: number = 2;");
+
+        String edited = "let a: number = 1;\nlet b: number = 2;";
+
+        assertEquals(fullFormat(edited), incremental(edited));
+    }
+
+    @Test
+    void reusesStatementsWhosePredecessorIsUnchanged() {
+        incremental("let a: number = 1;\nprintln(a);\nlet b: number = 2;\nlet d: number = 4;");
+
+        String edited = "let a: number = 1;\nprintln(a);\nlet b: number = 5;\nlet d: number = 4;";
+
+        assertEquals(fullFormat(edited), incremental(edited));
+        assertEquals(2, formatter.reusedStatements());
+        assertEquals(0, formatter.fallbacks());
+    }
+
+    @Test
+    void matchesAFullFormatWhenTheSameStatementMovesAfterAPrint() {
+        incremental("let a: number = 1;\nlet b: number = 2;\nprintln(a);");
+
+        String edited = "println(a);\nlet a: number = 1;\nlet b: number = 2;";
+
+        assertEquals(fullFormat(edited), incremental(edited));
+    }
+
+    private String incremental(String source) {
+        SnippetProgram program = SnippetProgram.of(source.getBytes(StandardCharsets.UTF_8));
+        Result<byte[]> result = formatter.format(snippetId, program, RULES, VERSION, SupportedLanguage.PRINTSCRIPT,
+                IncrementalFormatterTest::fakeFormat);
+        return new String(result.result(), StandardCharsets.UTF_8);
+    }
+
+    private static String fullFormat(String source) {
+        return format(source);
+    }
+
+    /**
+     * Stands in for the engine formatter: one statement per line, with a blank line after every {@code println}, so a
+     * statement's leading whitespace depends on the statement before it.
+     */
+    private static Result<byte[]> fakeFormat(InputStream in) {
+        try {
+            String formatted = format(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            return new CorrectResult<>(formatted.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String format(String source) {
+        List<String> statements = StatementSegmenter.split(source).segments().stream().map(String::strip).toList();
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < statements.size(); i++) {
+            if (i > 0) {
+                out.append(statements.get(i - 1).startsWith("println") ? "\n\n" : "\n");
+            }
+            out.append(statements.get(i));
+        }
+        return out.append('\n').toString();
+    }
+}
@@ -0,0 +1,80 @@
+package com.ingsis.snippetManager.engine.lint;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LintDiagnosticParserTest {
+
+    @Test
+    void reportsNoDiagnosticsWhenTheLintPassed() {
+        LintReport report = LintDiagnosticParser.parse(true, "ok", 10);
+
+        assertTrue(report.passed());
+        assertEquals(List.of(), report.diagnostics());
+        assertEquals(0, report.total());
+        assertFalse(report.truncated());
+    }
+
+    @Test
+    void readsLineAndColumnFromWording() {
+        LintDiagnostic diagnostic = single("Identifier my_var is not camel case at line 3, column 5");
+
+        assertEquals(new LintDiagnostic("identifierFormat", 3, 5,
+                "Identifier my_var is not camel case at line 3, column 5"), diagnostic);
+    }
+
+    @Test
+    void readsLineAndColumnFromAPair() {
+        LintDiagnostic diagnostic = single("println must take a variable or literal (4:12)");
+
+        assertEquals("mandatoryVariableOrLiteralInPrintln", diagnostic.rule());
+        assertEquals(4, diagnostic.line());
+        assertEquals(12, diagnostic.column());
+    }
+
+    @Test
+    void readsALineWithoutAColumn() {
+        LintDiagnostic diagnostic = single("readInput must take a variable or literal on line 7");
+
+        assertEquals("mandatoryVariableOrLiteralInReadInput", diagnostic.rule());
+        assertEquals(7, diagnostic.line());
+        assertEquals(0, diagnostic.column());
+    }
+
+    @Test
+    void fallsBackToAGeneralRuleWithoutAPosition() {
+        LintDiagnostic diagnostic = single("Something went wrong");
+
+        assertEquals(new LintDiagnostic("general", 0, 0, "Something went wrong"), diagnostic);
+    }
+
+    @Test
+    void skipsBlankAndRepeatedLines() {
+        String message = "first at line 1\n\n  \nfirst at line 1\r\nsecond at line 2";
+        LintReport report = LintDiagnosticParser.parse(false, message, 10);
+
+        assertEquals(2, report.total());
+        assertEquals(List.of("first at line 1", "second at line 2"),
+                report.diagnostics().stream().map(LintDiagnostic::message).toList());
+    }
+
+    @Test
+    void truncatesAtTheDiagnosticLimit() {
+        LintReport report = LintDiagnosticParser.parse(false, "a at line 1\nb at line 2\nc at line 3", 2);
+
+        assertFalse(report.passed());
+        assertEquals(2, report.diagnostics().size());
+        assertEquals(3, report.total());
+        assertTrue(report.truncated());
+    }
+
+    private static LintDiagnostic single(String message) {
+        LintReport report = LintDiagnosticParser.parse(false, message, 10);
+        assertEquals(1, report.diagnostics().size());
+        return report.diagnostics().get(0);
+    }
+}
@@ -0,0 +1,110 @@
+package com.ingsis.snippetManager.engine.runner;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.ingsis.utils.runtime.environment.Environment;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ExecutionContextTest {
+
+    @Test
+    void stopsAtTheOutputLineLimit() {
+        ExecutionContext context = context(new ExecutionBudget(Duration.ZERO, 2, 0, 0), List.of());
+        context.start();
+
+        context.emitter().print("a");
+        context.emitter().print("b");
+        ExecutionLimitExceededException e = assertThrows(ExecutionLimitExceededException.class,
+                () -> context.emitter().print("c"));
+
+        assertEquals(ExecutionLimit.OUTPUT_LINES, e.limit());
+        assertEquals(ExecutionLimit.OUTPUT_LINES, context.exceededLimit());
+        assertEquals(List.of("a", "b"), context.outputs());
+    }
+
+    @Test
+    void stopsAtTheOutputByteLimit() {
+        ExecutionContext context = context(new ExecutionBudget(Duration.ZERO, 0, 5, 0), List.of());
+        context.start();
+
+        context.emitter().print("abc");
+        ExecutionLimitExceededException e = assertThrows(ExecutionLimitExceededException.class,
+                () -> context.emitter().print("def"));
+
+        assertEquals(ExecutionLimit.OUTPUT_BYTES, e.limit());
+        assertEquals(List.of("abc"), context.outputs());
+    }
+
+    @Test
+    void stopsAtTheInputReadLimit() {
+        ExecutionContext context = context(new ExecutionBudget(Duration.ZERO, 0, 0, 2), List.of("x", "y", "z"));
+        context.start();
+        NativeExpressionNode readInput = installedFunction(context, "readInput");
+
+        assertEquals("x", readInput.solve().result());
+        assertEquals("y", readInput.solve().result());
+        ExecutionLimitExceededException e = assertThrows(ExecutionLimitExceededException.class,
+                readInput::solve);
+
+        assertEquals(ExecutionLimit.INPUT_READS, e.limit());
+    }
+
+    @Test
+    void doesNotChargeWallTimeBeforeTheRunStarts() throws InterruptedException {
+        ExecutionContext context = context(new ExecutionBudget(Duration.ofMillis(50), 0, 0, 0), List.of());
+
+        Thread.sleep(100);
+        context.start();
+
+        assertDoesNotThrow(() -> context.emitter().print("on time"));
+        assertNull(context.exceededLimit());
+    }
+
+    @Test
+    void stopsOnceTheWallTimeIsUsedUp() throws InterruptedException {
+        ExecutionContext context = context(new ExecutionBudget(Duration.ofMillis(50), 0, 0, 0), List.of());
+        context.start();
+
+        Thread.sleep(100);
+        ExecutionLimitExceededException e = assertThrows(ExecutionLimitExceededException.class,
+                () -> context.emitter().print("late"));
+
+        assertEquals(ExecutionLimit.WALL_TIME, e.limit());
+    }
+
+    @Test
+    void unlimitedBudgetNeverStopsTheRun() {
+        ExecutionContext context = context(ExecutionBudget.unlimited(), List.of());
+        context.start();
+
+        for (int i = 0; i < 10_000; i++) {
+            context.emitter().print("line " + i);
+        }
+
+        assertEquals(10_000, context.outputs().size());
+        assertNull(context.exceededLimit());
+    }
+
+    private static ExecutionContext context(ExecutionBudget budget, List<String> inputs) {
+        return new ExecutionContext(new CollectingEmitter(), inputs, Map.of(), budget);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static NativeExpressionNode installedFunction(ExecutionContext context, String name) {
+        Environment env = mock(Environment.class);
+        context.install(env);
+        ArgumentCaptor<List> body = ArgumentCaptor.forClass(List.class);
+        verify(env).updateFunction(eq(name), body.capture());
+        return (NativeExpressionNode) body.getValue().get(0);
+    }
+}
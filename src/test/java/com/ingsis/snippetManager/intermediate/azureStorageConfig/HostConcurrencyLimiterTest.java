@@ -0,0 +1,88 @@
+package com.ingsis.snippetManager.intermediate.azureStorageConfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class HostConcurrencyLimiterTest {
+
+    @Test
+    void queuesRequestsOverTheCapWithoutStartingThem() {
+        HostConcurrencyLimiter limiter = new HostConcurrencyLimiter(2);
+        List<CompletableFuture<String>> started = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            limiter.submit(() -> track(started));
+        }
+
+        assertEquals(2, started.size());
+        assertEquals(0, limiter.available());
+        assertEquals(1, limiter.queued());
+    }
+
+    @Test
+    void startsQueuedRequestsInOrderAsEarlierOnesComplete() {
+        HostConcurrencyLimiter limiter = new HostConcurrencyLimiter(1);
+        List<String> order = new ArrayList<>();
+        CompletableFuture<String> first = new CompletableFuture<>();
+
+        limiter.submit(() -> {
+            order.add("first");
+            return first;
+        });
+        limiter.submit(() -> {
+            order.add("second");
+            return CompletableFuture.completedFuture("second");
+        });
+        limiter.submit(() -> {
+            order.add("third");
+            return CompletableFuture.completedFuture("third");
+        });
+        assertEquals(List.of("first"), order);
+
+        first.complete("first");
+
+        assertEquals(List.of("first", "second", "third"), order);
+        assertEquals(1, limiter.available());
+        assertEquals(0, limiter.queued());
+    }
+
+    @Test
+    void passesResultsAndFailuresThrough() {
+        HostConcurrencyLimiter limiter = new HostConcurrencyLimiter(1);
+
+        CompletableFuture<String> ok = limiter.submit(() -> CompletableFuture.completedFuture("done"));
+        CompletableFuture<String> failed = limiter
+                .submit(() -> CompletableFuture.failedFuture(new IllegalStateException("boom")));
+
+        assertEquals("done", ok.join());
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(1, limiter.available());
+    }
+
+    @Test
+    void releasesThePermitWhenTheRequestThrows() {
+        HostConcurrencyLimiter limiter = new HostConcurrencyLimiter(1);
+
+        CompletableFuture<String> failed = limiter.submit(() -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<String> next = limiter.submit(() -> CompletableFuture.completedFuture("next"));
+
+        assertTrue(failed.isCompletedExceptionally());
+        assertFalse(next.isCompletedExceptionally());
+        assertEquals("next", next.join());
+        assertEquals(1, limiter.available());
+    }
+
+    private static CompletableFuture<String> track(List<CompletableFuture<String>> started) {
+        CompletableFuture<String> request = new CompletableFuture<>();
+        started.add(request);
+        return request;
+    }
+}
@@ -0,0 +1,90 @@
+package com.ingsis.snippetManager.redis.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+class RedisWriteBatcherTest {
+
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void requeuesAFailedBatchAndSendsItOnTheNextFlush() {
+        when(redis.executePipelined(any(SessionCallback.class))).thenThrow(new RedisConnectionFailureException("down"))
+                .thenReturn(List.of());
+        RedisWriteBatcher batcher = batcher(3);
+
+        CompletableFuture<Void> write = batcher.set("key", "value");
+        batcher.flush();
+
+        assertFalse(write.isDone());
+        assertEquals(1, batcher.pendingWrites());
+
+        batcher.flush();
+
+        assertTrue(write.isDone());
+        assertFalse(write.isCompletedExceptionally());
+        assertEquals(0, batcher.pendingWrites());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dropsWritesAfterTheLastAttemptAndFailsTheirFutures() {
+        when(redis.executePipelined(any(SessionCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        RedisWriteBatcher batcher = batcher(2);
+
+        CompletableFuture<Void> write = batcher.set("key", "value");
+        batcher.flush();
+        batcher.flush();
+
+        assertTrue(write.isCompletedExceptionally());
+        assertEquals(0, batcher.pendingWrites());
+        assertEquals(1.0, meterRegistry.get("redis.batch.dropped").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void keepsRequeuedWritesAheadOfNewerOnes() {
+        RedisOperations<String, String> ops = mock(RedisOperations.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(ops.opsForValue()).thenReturn(values);
+        when(redis.executePipelined(any(SessionCallback.class))).thenThrow(new RedisConnectionFailureException("down"))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(0, SessionCallback.class).execute(ops);
+                    return List.of();
+                });
+        RedisWriteBatcher batcher = batcher(3);
+
+        batcher.set("first", "1");
+        batcher.flush();
+        batcher.set("second", "2");
+        batcher.flush();
+
+        InOrder order = inOrder(values);
+        order.verify(values).set("first", "1");
+        order.verify(values).set("second", "2");
+    }
+
+    private RedisWriteBatcher batcher(int maxAttempts) {
+        return new RedisWriteBatcher(redis, true, 64, Duration.ofHours(1), maxAttempts, meterRegistry);
+    }
+}
@@ -0,0 +1,109 @@
+package com.ingsis.snippetManager.redis.coalesce;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+
+class JobCoalescerTest {
+
+    private static final String SNIPPET = UUID.randomUUID().toString();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JobCoalescer coalescer = new JobCoalescer(new ObjectMapper(), meterRegistry);
+    private final List<String> events = new ArrayList<>();
+
+    @Test
+    void skipsAnOlderRecordSupersededBeforeItRan() {
+        JobCoalescer.Ticket older = coalescer.offer("lint", record("1-0", request("alice", "1.1", true)));
+        JobCoalescer.Ticket newer = coalescer.offer("lint", record("2-0", request("alice", "1.1", true)));
+
+        run(older, "older");
+        run(newer, "newer");
+
+        assertEquals(List.of("older superseded", "newer ran"), events);
+        assertEquals(1.0, meterRegistry.get("redis.stream.jobs.superseded").tag("operation", "lint").counter().count());
+    }
+
+    @Test
+    void runsARecordOfferedWhileAnEarlierOneIsRunning() {
+        JobCoalescer.Ticket first = coalescer.offer("lint", record("1-0", request("alice", "1.1", true)));
+        JobCoalescer.Ticket[] second = new JobCoalescer.Ticket[1];
+
+        coalescer.run(first, () -> {
+            events.add("first ran");
+            second[0] = coalescer.offer("lint", record("2-0", request("alice", "1.1", true)));
+        }, () -> events.add("first superseded"));
+        run(second[0], "second");
+
+        assertEquals(List.of("first ran", "second ran"), events);
+    }
+
+    @Test
+    void doesNotCoalesceRequestsFromDifferentOwners() {
+        JobCoalescer.Ticket alice = coalescer.offer("lint", record("1-0", request("alice", "1.1", true)));
+        JobCoalescer.Ticket bob = coalescer.offer("lint", record("2-0", request("bob", "1.1", true)));
+
+        run(alice, "alice");
+        run(bob, "bob");
+
+        assertNotEquals(alice.key(), bob.key());
+        assertEquals(List.of("alice ran", "bob ran"), events);
+    }
+
+    @Test
+    void doesNotCoalesceRequestsWithDifferentRulesOrVersions() {
+        JobCoalescer.Ticket base = coalescer.offer("lint", record("1-0", request("alice", "1.1", true)));
+        JobCoalescer.Ticket otherRules = coalescer.offer("lint", record("2-0", request("alice", "1.1", false)));
+        JobCoalescer.Ticket otherVersion = coalescer.offer("lint", record("3-0", request("alice", "1.0", true)));
+
+        run(base, "base");
+        run(otherRules, "rules");
+        run(otherVersion, "version");
+
+        assertEquals(List.of("base ran", "rules ran", "version ran"), events);
+    }
+
+    @Test
+    void doesNotCoalesceAcrossOperations() {
+        JobCoalescer.Ticket lint = coalescer.offer("lint", record("1-0", request("alice", "1.1", true)));
+        JobCoalescer.Ticket format = coalescer.offer("format", record("2-0", request("alice", "1.1", true)));
+
+        run(lint, "lint");
+        run(format, "format");
+
+        assertEquals(List.of("lint ran", "format ran"), events);
+    }
+
+    @Test
+    void runsRecordsWithoutASnippetIdUncoalesced() {
+        JobCoalescer.Ticket ticket = coalescer.offer("lint", record("1-0", "{\"ownerId\":\"alice\"}"));
+
+        run(ticket, "orphan");
+
+        assertNull(ticket);
+        assertEquals(List.of("orphan ran"), events);
+    }
+
+    private void run(JobCoalescer.Ticket ticket, String name) {
+        coalescer.run(ticket, () -> events.add(name + " ran"), () -> events.add(name + " superseded"));
+    }
+
+    private static ObjectRecord<String, String> record(String id, String value) {
+        return StreamRecords.newRecord().in("lint-request").withId(RecordId.of(id)).ofObject(value);
+    }
+
+    private static String request(String ownerId, String version, boolean camelCase) {
+        return "{\"ownerId\":\"" + ownerId + "\",\"snippetId\":\"" + SNIPPET + "\",\"language\":\"PRINTSCRIPT\","
+                + "\"version\":\"" + version + "\",\"supportedRules\":{\"camelCase\":" + camelCase + "}}";
+    }
+}
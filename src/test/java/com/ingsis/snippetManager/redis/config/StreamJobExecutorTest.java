@@ -0,0 +1,87 @@
+package com.ingsis.snippetManager.redis.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.stream.RecordId;
+
+class StreamJobExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Counter refused = meterRegistry.counter("refused");
+    private final StreamJobExecutor executor = new StreamJobExecutor("lint", Executors.newFixedThreadPool(2), 1, 1,
+            Timer.builder("wait").register(meterRegistry), Timer.builder("job").register(meterRegistry), refused,
+            () -> {
+            });
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        executor.shutdown();
+        executor.awaitTermination(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void startsAWaitingRecordAsSoonAsTheRunningOneFinishes() throws InterruptedException {
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch secondRan = new CountDownLatch(1);
+
+        assertTrue(executor.trySubmit(RecordId.of("1-0"), () -> block(order, "first")));
+        assertTrue(executor.trySubmit(RecordId.of("2-0"), () -> {
+            order.add("second");
+            secondRan.countDown();
+        }));
+        assertEquals(1, executor.waiting());
+
+        release.countDown();
+
+        assertTrue(secondRan.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("first", "second"), order);
+    }
+
+    @Test
+    void refusesOnlyWhenTheWaitingQueueIsFull() {
+        assertTrue(executor.trySubmit(RecordId.of("1-0"), () -> block(new CopyOnWriteArrayList<>(), "first")));
+        assertTrue(executor.trySubmit(RecordId.of("2-0"), () -> {
+        }));
+
+        assertFalse(executor.trySubmit(RecordId.of("3-0"), () -> {
+        }));
+        assertEquals(1.0, refused.count());
+        assertEquals(List.of(RecordId.of("1-0"), RecordId.of("2-0")),
+                executor.held().stream().sorted(Comparator.comparing(RecordId::getValue)).toList());
+    }
+
+    @Test
+    void ignoresARecordItAlreadyHolds() {
+        assertTrue(executor.trySubmit(RecordId.of("1-0"), () -> block(new CopyOnWriteArrayList<>(), "first")));
+
+        assertFalse(executor.trySubmit(RecordId.of("1-0"), () -> {
+        }));
+        assertEquals(0, executor.waiting());
+        assertEquals(0.0, refused.count());
+    }
+
+    private void block(List<String> order, String name) {
+        order.add(name);
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}